@@ -11,6 +11,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  * 
  * Routes:
  * - /api/resources/** -> resource-service
+ * - /api/reactive/resources/** -> resource-service-reactive
  * - /api/songs/**     -> song-service
  * - /resources/**     -> resource-service (backward compatibility)
  * - /songs/**         -> song-service (backward compatibility)
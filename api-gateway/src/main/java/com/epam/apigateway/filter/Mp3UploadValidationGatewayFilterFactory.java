@@ -0,0 +1,152 @@
+package com.epam.apigateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejects invalid MP3 uploads at the edge, before a connection to resource-service is opened.
+ * <p>
+ * For {@code POST} requests it checks {@code Content-Type} and {@code Content-Length} from the
+ * headers, then reads only the first chunk of the body to look for an MP3 frame sync or an
+ * {@code ID3} tag. A valid upload is proxied with that chunk put back in front of the rest of
+ * the stream, so nothing beyond the first chunk is ever buffered. Rejections use the same
+ * {@code errorMessage}/{@code errorCode} body as the services. Other methods pass through.
+ * <p>
+ * Usage: {@code - Mp3UploadValidation=50MB}
+ */
+@Component
+@Slf4j
+public class Mp3UploadValidationGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<Mp3UploadValidationGatewayFilterFactory.Config> {
+
+    private static final String AUDIO_MPEG = "audio/mpeg";
+    private static final int MIN_MP3_SIZE = 3;
+
+    private final ObjectMapper objectMapper;
+
+    public Mp3UploadValidationGatewayFilterFactory(ObjectMapper objectMapper) {
+        super(Config.class);
+        this.objectMapper = objectMapper;
+    }
+
+    @Data
+    public static class Config {
+        private DataSize maxSize = DataSize.ofMegabytes(50);
+        private boolean requireContentLength = true;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxSize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.POST) {
+                return chain.filter(exchange);
+            }
+
+            MediaType contentType = request.getHeaders().getContentType();
+            if (contentType == null || !contentType.toString().startsWith(AUDIO_MPEG)) {
+                return reject(exchange, HttpStatus.BAD_REQUEST, String.format(
+                        "Invalid file format: %s. Only MP3 files are allowed",
+                        contentType != null ? contentType : "unknown"));
+            }
+
+            long contentLength = request.getHeaders().getContentLength();
+            if (contentLength < 0 && config.isRequireContentLength()) {
+                return reject(exchange, HttpStatus.LENGTH_REQUIRED, "Content-Length header is required");
+            }
+            if (contentLength > config.getMaxSize().toBytes()) {
+                return reject(exchange, HttpStatus.PAYLOAD_TOO_LARGE, String.format(
+                        "File is too large: %d bytes, maximum allowed is %d",
+                        contentLength, config.getMaxSize().toBytes()));
+            }
+            if (contentLength >= 0 && contentLength < MIN_MP3_SIZE) {
+                return reject(exchange, HttpStatus.BAD_REQUEST, "Invalid MP3 file: data is null or too small");
+            }
+
+            return request.getBody()
+                    .switchOnFirst((first, body) -> {
+                        if (!first.hasValue()) {
+                            return reject(exchange, HttpStatus.BAD_REQUEST, "Invalid MP3 file: data is null or too small");
+                        }
+                        DataBuffer head = first.get();
+                        if (!startsLikeMp3(head)) {
+                            DataBufferUtils.release(head);
+                            return reject(exchange, HttpStatus.BAD_REQUEST,
+                                    "Invalid MP3 file: missing MP3 frame sync or ID3 tag");
+                        }
+                        ServerHttpRequest replayed = new ServerHttpRequestDecorator(request) {
+                            @Override
+                            public Flux<DataBuffer> getBody() {
+                                return body;
+                            }
+                        };
+                        return chain.filter(exchange.mutate().request(replayed).build());
+                    })
+                    .then();
+        };
+    }
+
+    /**
+     * Same check as resource-service's {@code validateMp3}, on as many of the first three bytes as
+     * the first chunk holds; a chunk shorter than that is let through and validated upstream.
+     */
+    private static boolean startsLikeMp3(DataBuffer head) {
+        int available = Math.min(head.readableByteCount(), MIN_MP3_SIZE);
+        int start = head.readPosition();
+        byte[] bytes = new byte[available];
+        for (int i = 0; i < available; i++) {
+            bytes[i] = head.getByte(start + i);
+        }
+        boolean frameSync = available < 2
+                || (bytes[0] == (byte) 0xFF && (bytes[1] & 0xE0) == 0xE0);
+        boolean id3 = bytes[0] == 'I'
+                && (available < 2 || bytes[1] == 'D')
+                && (available < 3 || bytes[2] == '3');
+        return available == 0 || frameSync || id3;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String message) {
+        log.warn("Rejected upload {} {}: {}", exchange.getRequest().getMethod(), exchange.getRequest().getPath(), message);
+        Map<String, String> error = new LinkedHashMap<>();
+        error.put("errorMessage", message);
+        error.put("errorCode", String.valueOf(status.value()));
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(error);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(message.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+}
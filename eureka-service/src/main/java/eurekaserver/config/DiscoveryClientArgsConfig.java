@@ -0,0 +1,34 @@
+package eurekaserver.config;
+
+import com.netflix.discovery.AbstractDiscoveryClientOptionalArgs;
+import com.netflix.discovery.Jersey3DiscoveryClientOptionalArgs;
+import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
+import com.netflix.discovery.shared.transport.jersey3.Jersey3TransportClientFactories;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Supplies the embedded discovery client's transport beans from outside
+ * {@code EurekaServerAutoConfiguration}.
+ * <p>
+ * With the refresh scope disabled, the client is built by the eager
+ * {@code EurekaClientConfiguration}. That configuration needs the optional arguments and transport
+ * factories, while {@code EurekaServerAutoConfiguration} needs the client and its
+ * {@code ApplicationInfoManager}. By default the server auto-configuration also declares both
+ * transport beans, so the two configurations depend on each other and startup fails. Declaring
+ * the beans here makes those defaults back off and removes the cycle. The arguments use plain
+ * defaults, since this server does not configure client TLS.
+ */
+@Configuration
+public class DiscoveryClientArgsConfig {
+
+    @Bean
+    public AbstractDiscoveryClientOptionalArgs<?> discoveryClientOptionalArgs() {
+        return new Jersey3DiscoveryClientOptionalArgs();
+    }
+
+    @Bean
+    public TransportClientFactories<?> transportClientFactories() {
+        return Jersey3TransportClientFactories.getInstance();
+    }
+}
@@ -0,0 +1,23 @@
+package eurekaserver.events;
+
+import java.util.Map;
+
+/**
+ * A change to one registered instance, as pushed on {@code /registry/events}.
+ * {@code REGISTERED} carries the instance's current status and address, and is also sent when
+ * an instance re-registers with a new status; {@code CANCELLED} only identifies the instance.
+ */
+public record RegistryEvent(
+        String type,
+        String app,
+        String instanceId,
+        String status,
+        String host,
+        Integer port,
+        Boolean secure,
+        Map<String, String> metadata
+) {
+
+    public static final String REGISTERED = "REGISTERED";
+    public static final String CANCELLED = "CANCELLED";
+}
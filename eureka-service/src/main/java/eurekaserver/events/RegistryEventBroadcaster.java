@@ -0,0 +1,130 @@
+package eurekaserver.events;
+
+import com.netflix.appinfo.InstanceInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes registry changes to subscribers of {@code /registry/events} as server-sent events.
+ * <p>
+ * Registrations (including status changes, which clients send as re-registrations) and
+ * cancellations (including lease evictions) are forwarded as they happen, so load balancers
+ * can react within milliseconds instead of waiting for their next registry fetch. Only changes
+ * are sent: a subscriber builds its initial view from the regular Eureka API, which also stays
+ * its fallback while it is not connected. Sends run on a single thread, so a slow subscriber
+ * never delays a registration, and a keep-alive comment lets subscribers detect dead connections.
+ */
+@Component
+@Slf4j
+public class RegistryEventBroadcaster {
+
+    static final long KEEP_ALIVE_SECONDS = 15;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(daemon("registry-events"));
+    private final ScheduledExecutorService keepAlive =
+            Executors.newSingleThreadScheduledExecutor(daemon("registry-events-keep-alive"));
+    private final Counter published;
+
+    public RegistryEventBroadcaster(MeterRegistry meterRegistry) {
+        Gauge.builder("registry.events.subscribers", subscribers, List::size).register(meterRegistry);
+        this.published = Counter.builder("registry.events.published").register(meterRegistry);
+        keepAlive.scheduleAtFixedRate(() -> sender.execute(this::sendKeepAlive),
+                KEEP_ALIVE_SECONDS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        keepAlive.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        InstanceInfo info = event.getInstanceInfo();
+        boolean secure = info.isPortEnabled(InstanceInfo.PortType.SECURE);
+        publish(new RegistryEvent(
+                RegistryEvent.REGISTERED,
+                info.getAppName(),
+                info.getId(),
+                info.getStatus().name(),
+                info.getHostName(),
+                secure ? info.getSecurePort() : info.getPort(),
+                secure,
+                info.getMetadata()
+        ));
+    }
+
+    @EventListener
+    public void onCancelled(EurekaInstanceCanceledEvent event) {
+        publish(new RegistryEvent(RegistryEvent.CANCELLED, event.getAppName(), event.getServerId(),
+                null, null, null, null, null));
+    }
+
+    private void publish(RegistryEvent event) {
+        long id = sequence.incrementAndGet();
+        published.increment();
+        sender.execute(() -> {
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, SseEmitter.event()
+                        .id(String.valueOf(id))
+                        .name(event.type())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    private void sendKeepAlive() {
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping registry event subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package eurekaserver.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/registry")
+@RequiredArgsConstructor
+public class RegistryEventController {
+
+    private final RegistryEventBroadcaster broadcaster;
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return broadcaster.subscribe();
+    }
+}
@@ -0,0 +1,96 @@
+package eurekaserver.snapshot;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk form of the registry: the fields a client needs to reach an instance, plus the lease
+ * settings and dirty timestamp the server needs to accept that instance's next heartbeat.
+ */
+record RegistrySnapshot(long createdAt, List<Instance> instances) {
+
+    record Instance(
+            String app,
+            String instanceId,
+            String hostName,
+            String ipAddr,
+            int port,
+            boolean portEnabled,
+            int securePort,
+            boolean securePortEnabled,
+            String vipAddress,
+            String secureVipAddress,
+            String status,
+            String homePageUrl,
+            String statusPageUrl,
+            String healthCheckUrl,
+            String secureHealthCheckUrl,
+            int leaseDurationSeconds,
+            int renewalIntervalSeconds,
+            long lastDirtyTimestamp,
+            Map<String, String> metadata
+    ) {
+
+        static Instance from(InstanceInfo info) {
+            LeaseInfo lease = info.getLeaseInfo();
+            return new Instance(
+                    info.getAppName(),
+                    info.getInstanceId(),
+                    info.getHostName(),
+                    info.getIPAddr(),
+                    info.getPort(),
+                    info.isPortEnabled(InstanceInfo.PortType.UNSECURE),
+                    info.getSecurePort(),
+                    info.isPortEnabled(InstanceInfo.PortType.SECURE),
+                    info.getVIPAddress(),
+                    info.getSecureVipAddress(),
+                    info.getStatus().name(),
+                    info.getHomePageUrl(),
+                    info.getStatusPageUrl(),
+                    info.getHealthCheckUrl(),
+                    info.getSecureHealthCheckUrl(),
+                    lease != null ? lease.getDurationInSecs() : LeaseInfo.DEFAULT_LEASE_DURATION,
+                    lease != null ? lease.getRenewalIntervalInSecs() : LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL,
+                    info.getLastDirtyTimestamp(),
+                    info.getMetadata()
+            );
+        }
+
+        /**
+         * Rebuilds the instance, marked provisional until it is confirmed again.
+         */
+        InstanceInfo toInstanceInfo() {
+            Map<String, String> restoredMetadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            restoredMetadata.put(RegistrySnapshotter.PROVISIONAL_METADATA, "true");
+            return InstanceInfo.Builder.newBuilder()
+                    .setAppName(app)
+                    .setInstanceId(instanceId)
+                    .setHostName(hostName)
+                    .setIPAddr(ipAddr)
+                    .setPort(port)
+                    .enablePort(InstanceInfo.PortType.UNSECURE, portEnabled)
+                    .setSecurePort(securePort)
+                    .enablePort(InstanceInfo.PortType.SECURE, securePortEnabled)
+                    .setVIPAddress(vipAddress)
+                    .setSecureVIPAddress(secureVipAddress)
+                    .setStatus(InstanceInfo.InstanceStatus.toEnum(status))
+                    .setHomePageUrlForDeser(homePageUrl)
+                    .setStatusPageUrlForDeser(statusPageUrl)
+                    .setHealthCheckUrlsForDeser(healthCheckUrl, secureHealthCheckUrl)
+                    .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                    .setLeaseInfo(LeaseInfo.Builder.newBuilder()
+                            .setDurationInSecs(leaseDurationSeconds)
+                            .setRenewalIntervalInSecs(renewalIntervalSeconds)
+                            .build())
+                    .setLastDirtyTimestamp(lastDirtyTimestamp)
+                    .setMetadata(restoredMetadata)
+                    .build();
+        }
+    }
+}
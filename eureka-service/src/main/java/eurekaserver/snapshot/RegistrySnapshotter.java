@@ -0,0 +1,248 @@
+package eurekaserver.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRenewedEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaRegistryAvailableEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persists the registry to local disk so that a restarted server can serve it straight away.
+ * <p>
+ * Every {@code registry-snapshot.interval}, and once more on shutdown, the registered instances
+ * are written as gzipped JSON to {@code registry-snapshot.path}. The file is written next to the
+ * snapshot and moved over it, so a crash mid-write never leaves a truncated snapshot behind.
+ * <p>
+ * When the registry opens for traffic after a restart, a snapshot younger than
+ * {@code registry-snapshot.max-age} is loaded back with each instance's own lease settings and
+ * dirty timestamp. Clients can then fetch a full registry at once, instead of an empty one until
+ * every instance has re-registered. Restored instances stay provisional until a heartbeat or
+ * re-registration confirms them, and carry the metadata {@code provisional=true} meanwhile, so
+ * clients can tell them apart. They are otherwise routed like any UP instance. An instance that
+ * is never confirmed is evicted when its lease runs out, exactly as if it had stopped
+ * heart-beating. The number still provisional is published as {@code registry.snapshot.provisional}.
+ */
+@Component
+@ConditionalOnProperty(value = "registry-snapshot.enabled", matchIfMissing = true)
+@Slf4j
+public class RegistrySnapshotter {
+
+    static final String PROVISIONAL_METADATA = "provisional";
+
+    private final PeerAwareInstanceRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Duration interval;
+    private final Duration maxAge;
+
+    private final Set<String> provisional = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "registry-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter restored;
+
+    private volatile boolean started;
+
+    public RegistrySnapshotter(PeerAwareInstanceRegistry registry,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${registry-snapshot.path:data/registry-snapshot.json.gz}") Path path,
+                               @Value("${registry-snapshot.interval:10s}") Duration interval,
+                               @Value("${registry-snapshot.max-age:5m}") Duration maxAge) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.path = path.toAbsolutePath();
+        this.interval = interval;
+        this.maxAge = maxAge;
+
+        Gauge.builder("registry.snapshot.provisional", provisional, Set::size)
+                .description("Instances restored from a snapshot and not yet confirmed by a heartbeat")
+                .register(meterRegistry);
+        this.restored = Counter.builder("registry.snapshot.restored").register(meterRegistry);
+    }
+
+    /**
+     * Restores the last snapshot, then starts writing new ones. Writing only starts after the
+     * restore, so an empty registry at startup never replaces a good snapshot.
+     */
+    @EventListener(EurekaRegistryAvailableEvent.class)
+    public void onRegistryAvailable() {
+        restore();
+        started = true;
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        if (started) {
+            snapshotQuietly();
+        }
+    }
+
+    @EventListener
+    public void onRenewed(EurekaInstanceRenewedEvent event) {
+        if (confirm(event.getServerId())) {
+            clearProvisionalMetadata(event.getAppName(), event.getServerId());
+        }
+    }
+
+    /**
+     * A re-registration replaces the restored instance, metadata included, so only the
+     * bookkeeping needs updating.
+     */
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        confirm(event.getInstanceInfo().getId());
+    }
+
+    @EventListener
+    public void onCancelled(EurekaInstanceCanceledEvent event) {
+        if (provisional.remove(event.getServerId())) {
+            log.info("Restored instance {} of {} expired without being confirmed",
+                    event.getServerId(), event.getAppName());
+        }
+    }
+
+    private boolean confirm(String instanceId) {
+        if (!provisional.remove(instanceId)) {
+            return false;
+        }
+        if (provisional.isEmpty()) {
+            log.info("All restored instances confirmed");
+        }
+        return true;
+    }
+
+    /**
+     * Registers a copy of the instance without the provisional marker. Going through
+     * {@code register} puts the change into the delta that clients fetch, which an in-place
+     * metadata edit would not.
+     */
+    private void clearProvisionalMetadata(String appName, String instanceId) {
+        InstanceInfo current = registry.getInstanceByAppAndId(appName, instanceId, false);
+        if (current == null || !current.getMetadata().containsKey(PROVISIONAL_METADATA)) {
+            return;
+        }
+        Map<String, String> metadata = new HashMap<>(current.getMetadata());
+        metadata.remove(PROVISIONAL_METADATA);
+        InstanceInfo confirmed = new InstanceInfo.Builder(new InstanceInfo(current))
+                .setMetadata(metadata)
+                .build();
+        confirmed.setIsDirty();
+        int leaseDuration = current.getLeaseInfo() != null
+                ? current.getLeaseInfo().getDurationInSecs()
+                : LeaseInfo.DEFAULT_LEASE_DURATION;
+        // As a replication, like the restore itself: peers confirm their own copy
+        registry.register(confirmed, leaseDuration, true);
+    }
+
+    private void restore() {
+        RegistrySnapshot snapshot;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            snapshot = objectMapper.readValue(in, RegistrySnapshot.class);
+        } catch (NoSuchFileException e) {
+            log.info("No registry snapshot at {}, starting empty", path);
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable registry snapshot at {}", path, e);
+            return;
+        }
+
+        Duration age = Duration.ofMillis(System.currentTimeMillis() - snapshot.createdAt());
+        if (age.compareTo(maxAge) > 0) {
+            log.info("Ignoring registry snapshot from {} s ago, older than {}", age.toSeconds(), maxAge);
+            return;
+        }
+
+        int count = 0;
+        for (RegistrySnapshot.Instance instance : snapshot.instances()) {
+            try {
+                InstanceInfo info = instance.toInstanceInfo();
+                // Registered as a replication: nothing is forwarded to peers, which hold their own copy
+                registry.register(info, instance.leaseDurationSeconds(), true);
+                // Added after registering, so the registration event above does not count as a confirmation
+                provisional.add(info.getId());
+                count++;
+            } catch (RuntimeException e) {
+                log.warn("Skipping instance {} of {} from registry snapshot",
+                        instance.instanceId(), instance.app(), e);
+            }
+        }
+        restored.increment(count);
+        log.info("Restored {} instances from registry snapshot taken {} s ago; provisional until confirmed",
+                count, age.toSeconds());
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write registry snapshot to {}", path, e);
+        }
+    }
+
+    private void snapshot() throws IOException {
+        List<RegistrySnapshot.Instance> instances = new ArrayList<>();
+        for (Application application : registry.getApplicationsFromLocalRegionOnly().getRegisteredApplications()) {
+            for (InstanceInfo info : application.getInstancesAsIsFromEureka()) {
+                instances.add(RegistrySnapshot.Instance.from(info));
+            }
+        }
+
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                objectMapper.writeValue(out, new RegistrySnapshot(System.currentTimeMillis(), instances));
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Wrote registry snapshot of {} instances", instances.size());
+    }
+}
@@ -1,6 +1,42 @@
 -- Resource Service Database Schema
 
 CREATE TABLE IF NOT EXISTS resources (
+    -- Assigned by the application: nextval of resources_id_seq, or (sequence << 10 | bucket) when sharded
     id BIGSERIAL PRIMARY KEY,
     data BYTEA
-);
\ No newline at end of file
+);
+
+-- MP3 payloads don't compress; storing them uncompressed lets substring() read only the
+-- TOAST chunks of the requested range when seeking (applies to rows written from now on)
+ALTER TABLE resources ALTER COLUMN data SET STORAGE EXTERNAL;
+
+-- Sampled (time, byte offset) pairs of frame boundaries, delta/varint encoded
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS frame_index BYTEA;
+
+-- Deletes only set deleted_at; ResourceReclaimer removes the rows later in throttled batches
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- Reclaimer work queue, oldest tombstone first; stays small because reclaimed rows leave it
+CREATE INDEX IF NOT EXISTS idx_resources_tombstoned ON resources (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Stored at upload so inventories and audits never read the payload
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS size BIGINT;
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS checksum VARCHAR(64);
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- Backfill rows uploaded before these columns existed (reads every such payload once)
+UPDATE resources SET size = octet_length(data), checksum = encode(sha256(data), 'hex')
+WHERE size IS NULL AND data IS NOT NULL;
+
+-- Sharding: finds all rows of one bucket (the low 10 bits of the ID) when it is moved between shards
+CREATE INDEX IF NOT EXISTS idx_resources_bucket_id ON resources ((id & 1023), id);
+
+-- Sharding directory; only used in the first shard
+CREATE TABLE IF NOT EXISTS resource_shard_buckets (
+    bucket SMALLINT PRIMARY KEY CHECK (bucket BETWEEN 0 AND 1023),
+    shard VARCHAR(64) NOT NULL,
+    migrating_to VARCHAR(64)
+);
+
+-- Global ID sequence for sharded mode; allocated by the application in blocks of 100
+CREATE SEQUENCE IF NOT EXISTS resource_global_id_seq INCREMENT BY 100;
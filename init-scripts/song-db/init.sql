@@ -5,6 +5,27 @@ CREATE TABLE IF NOT EXISTS songs (
     name VARCHAR(100) NOT NULL,
     artist VARCHAR(100) NOT NULL,
     album VARCHAR(100) NOT NULL,
-    duration VARCHAR(5) NOT NULL,
-    year VARCHAR(4) NOT NULL
-);
\ No newline at end of file
+    duration INTEGER NOT NULL,   -- seconds; the API keeps the mm:ss format
+    year SMALLINT NOT NULL
+);
+
+-- Upgrades schemas created when duration and year were stored as text; a no-op on fresh databases
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'songs' AND column_name = 'duration' AND data_type = 'character varying') THEN
+        ALTER TABLE songs
+            ALTER COLUMN duration TYPE INTEGER
+                USING split_part(duration, ':', 1)::INTEGER * 60 + split_part(duration, ':', 2)::INTEGER,
+            ALTER COLUMN year TYPE SMALLINT USING year::SMALLINT;
+    END IF;
+END $$;
+
+-- Catalogue listing is ordered by (year, id) and seeks past the last row of the previous page.
+-- Each supported filter combination gets an index with its equality columns first, so every
+-- page is a single index range scan regardless of depth. Including duration lets the
+-- per-year and per-artist statistics be answered with index-only scans.
+CREATE INDEX IF NOT EXISTS idx_songs_year_id ON songs (year, id) INCLUDE (duration);
+CREATE INDEX IF NOT EXISTS idx_songs_artist_year_id ON songs (artist, year, id) INCLUDE (duration);
+CREATE INDEX IF NOT EXISTS idx_songs_album_year_id ON songs (album, year, id) INCLUDE (duration);
+CREATE INDEX IF NOT EXISTS idx_songs_artist_album_year_id ON songs (artist, album, year, id);
@@ -0,0 +1,86 @@
+#!/usr/bin/env sh
+# Measures how long the gateway takes to route to a newly registered instance, and to stop
+# routing to it after it is cancelled.
+#
+# Usage: load-tests/discovery-propagation.sh [runs]
+#
+# Needs eureka-service on EUREKA_URL and the gateway on GATEWAY_URL, and no song-service running
+# (so /api/songs/** is only served by the stub). A stub that answers 200 to every GET is started
+# on STUB_PORT and registered as a song-service instance through Eureka's REST API. Run it once
+# with the gateway's REGISTRY_EVENTS_ENABLED=true and once with false to compare push with polling.
+set -eu
+
+RUNS=${1:-5}
+EUREKA_URL=${EUREKA_URL:-http://localhost:8761}
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+STUB_PORT=${STUB_PORT:-9999}
+STUB_HOST=${STUB_HOST:-127.0.0.1}
+INSTANCE_ID="propagation-stub:$STUB_PORT"
+
+python3 -c "
+from http.server import BaseHTTPRequestHandler, HTTPServer
+class Stub(BaseHTTPRequestHandler):
+    def do_GET(self):
+        self.send_response(200)
+        self.send_header('Content-Type', 'application/json')
+        self.end_headers()
+        self.wfile.write(b'[]')
+    def log_message(self, *args):
+        pass
+HTTPServer(('0.0.0.0', $STUB_PORT), Stub).serve_forever()
+" &
+STUB_PID=$!
+trap 'kill $STUB_PID 2>/dev/null; curl -s -X DELETE "$EUREKA_URL/eureka/apps/SONG-SERVICE/$INSTANCE_ID" > /dev/null' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+status() {
+    curl -s -o /dev/null -w '%{http_code}' "$GATEWAY_URL/api/songs/search?q=propagation"
+}
+
+# Polls until the gateway's answer matches (or stops matching) 200, printing the elapsed time
+wait_for() {
+    START=$1
+    WANT_OK=$2
+    while :; do
+        CODE=$(status)
+        if { [ "$WANT_OK" = true ] && [ "$CODE" = 200 ]; } || { [ "$WANT_OK" = false ] && [ "$CODE" != 200 ]; }; then
+            echo $(( $(now_ms) - START ))
+            return
+        fi
+        if [ $(( $(now_ms) - START )) -gt 120000 ]; then
+            echo "timeout"
+            return
+        fi
+    done
+}
+
+INSTANCE=$(cat <<JSON
+{"instance": {
+  "instanceId": "$INSTANCE_ID", "app": "SONG-SERVICE", "vipAddress": "song-service",
+  "hostName": "$STUB_HOST", "ipAddr": "$STUB_HOST", "status": "UP",
+  "port": {"\$": $STUB_PORT, "@enabled": "true"}, "securePort": {"\$": 443, "@enabled": "false"},
+  "dataCenterInfo": {"@class": "com.netflix.appinfo.InstanceInfo\$DefaultDataCenterInfo", "name": "MyOwn"},
+  "leaseInfo": {"renewalIntervalInSecs": 30, "durationInSecs": 90}
+}}
+JSON
+)
+
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    START=$(now_ms)
+    curl -s -X POST -H 'Content-Type: application/json' -d "$INSTANCE" "$EUREKA_URL/eureka/apps/SONG-SERVICE"
+    ADDED=$(wait_for "$START" true)
+
+    sleep 2
+    START=$(now_ms)
+    curl -s -X DELETE "$EUREKA_URL/eureka/apps/SONG-SERVICE/$INSTANCE_ID"
+    REMOVED=$(wait_for "$START" false)
+
+    echo "run $i: routed to after ${ADDED} ms, removed after ${REMOVED} ms"
+    # Let every cache forget the stub before the next run
+    sleep 35
+    i=$((i + 1))
+done
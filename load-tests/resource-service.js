@@ -0,0 +1,84 @@
+// Side-by-side load test for resource-service (blocking) and resource-service-reactive.
+//
+//   k6 run -e BASE_URL=http://localhost:8082 load-tests/resource-service.js
+//   k6 run -e BASE_URL=http://localhost:8092 load-tests/resource-service.js
+//
+// Optional: FILE_SIZE_KB (default 512), VUS (default 200), DURATION (default 2m).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const FILE_SIZE = (parseInt(__ENV.FILE_SIZE_KB || '512', 10)) * 1024;
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+const liveThreads = new Trend('server_jvm_threads_live');
+const heapUsed = new Trend('server_jvm_heap_used_bytes');
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'mixed',
+        },
+        // Samples server-side resource usage while the mixed load runs
+        probe: {
+            executor: 'constant-arrival-rate',
+            rate: 1,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 1,
+            exec: 'probe',
+        },
+    },
+    thresholds: {
+        'http_req_failed{scenario:mixed}': ['rate<0.01'],
+    },
+};
+
+// Synthetic MP3: an ID3v2 header followed by filler, enough to pass validation
+const audio = (() => {
+    const bytes = new Uint8Array(FILE_SIZE);
+    bytes.set([0x49, 0x44, 0x33, 0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00]);
+    for (let i = 10; i < bytes.length; i++) {
+        bytes[i] = (i * 31) & 0xff;
+    }
+    return bytes.buffer;
+})();
+
+export function mixed() {
+    const upload = http.post(`${BASE_URL}/resources`, audio, {
+        headers: { 'Content-Type': 'audio/mpeg' },
+        tags: { name: 'upload' },
+    });
+    check(upload, { 'upload 200': (r) => r.status === 200 });
+    if (upload.status !== 200) {
+        return;
+    }
+    const id = upload.json('id');
+
+    for (let i = 0; i < 4; i++) {
+        const download = http.get(`${BASE_URL}/resources/${id}`, {
+            responseType: 'none',
+            tags: { name: 'download' },
+        });
+        check(download, { 'download 200': (r) => r.status === 200 });
+    }
+
+    const removal = http.del(`${BASE_URL}/resources?id=${id}`, null, { tags: { name: 'delete' } });
+    check(removal, { 'delete 200': (r) => r.status === 200 });
+}
+
+export function probe() {
+    const threads = http.get(`${BASE_URL}/actuator/metrics/jvm.threads.live`, { tags: { name: 'probe' } });
+    if (threads.status === 200) {
+        liveThreads.add(threads.json('measurements.0.value'));
+    }
+    const heap = http.get(`${BASE_URL}/actuator/metrics/jvm.memory.used?tag=area:heap`, { tags: { name: 'probe' } });
+    if (heap.status === 200) {
+        heapUsed.add(heap.json('measurements.0.value'));
+    }
+}
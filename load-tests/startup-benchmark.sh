@@ -0,0 +1,48 @@
+#!/usr/bin/env sh
+# Compares startup of the default and fast-start (AOT + AppCDS) images of one service.
+#
+# Usage: load-tests/startup-benchmark.sh <compose-service> [runs]
+#   e.g. load-tests/startup-benchmark.sh song-service 5
+#
+# Start the service's dependencies first (`docker compose up -d eureka-server song-db`).
+# Each run starts a fresh container on the compose network with the service's environment
+# and reports the time until /actuator/health answers UP, plus Spring's own "Started" time.
+# Requires docker compose and jq.
+set -eu
+
+SERVICE=${1:?usage: $0 <compose-service> [runs]}
+RUNS=${2:-5}
+
+CONFIG=$(docker compose config --format json)
+CONTEXT=$(echo "$CONFIG" | jq -r --arg s "$SERVICE" '.services[$s].build.context')
+NETWORK=$(echo "$CONFIG" | jq -r '.name')_default
+PORT=$(echo "$CONFIG" | jq -r --arg s "$SERVICE" '.services[$s].ports[0].target // .services[$s].environment.SERVER_PORT')
+ENV_ARGS=$(echo "$CONFIG" | jq -r --arg s "$SERVICE" \
+    '.services[$s].environment // {} | to_entries[] | "-e \(.key)=\(.value)"')
+
+for MODE in default fast-start; do
+    FAST_START=false
+    [ "$MODE" = "fast-start" ] && FAST_START=true
+    echo "Building $SERVICE:$MODE"
+    docker build -q -t "$SERVICE-benchmark:$MODE" --build-arg FAST_START=$FAST_START "$CONTEXT" > /dev/null
+done
+
+for MODE in default fast-start; do
+    TOTAL=0
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        START=$(date +%s%N)
+        # shellcheck disable=SC2086
+        CID=$(docker run -d --rm --network "$NETWORK" $ENV_ARGS "$SERVICE-benchmark:$MODE")
+        until docker exec "$CID" wget -qO- "http://localhost:$PORT/actuator/health" 2>/dev/null | grep -q '"UP"'; do
+            sleep 0.1
+        done
+        ELAPSED=$(( ($(date +%s%N) - START) / 1000000 ))
+        STARTED=$(docker logs "$CID" 2>&1 | grep -o 'Started [A-Za-z]* in [0-9.]* seconds' | head -n 1)
+        docker stop "$CID" > /dev/null
+        echo "$MODE run $i: healthy after ${ELAPSED} ms ($STARTED)"
+        TOTAL=$((TOTAL + ELAPSED))
+        i=$((i + 1))
+    done
+    echo "$MODE average: $((TOTAL / RUNS)) ms"
+done
@@ -0,0 +1,193 @@
+package com.epam.microservices.common.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate access frequencies per key, for finding the hot entities of a service.
+ * <p>
+ * Every access increments one counter in each row of a count-min sketch; the estimate for a key
+ * is the smallest of its counters, which may overcount through collisions but never undercounts.
+ * Keys whose estimate beats the current admission threshold are kept as heavy-hitter candidates.
+ * Recording is a handful of atomic increments and never blocks; the candidate set is pruned back
+ * to {@code hot-keys.top-k} by whichever caller first finds it over twice that size.
+ * <p>
+ * Every {@code hot-keys.decay-interval} all counts are halved, so the ranking follows recent
+ * traffic rather than all-time totals.
+ * <p>
+ * Registered by {@link HotKeysAutoConfiguration}.
+ */
+@Slf4j
+public class HotKeyTracker {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    /**
+     * A candidate heavy hitter with its estimated (decayed) access count.
+     */
+    public record HotKey(long key, long estimate) {
+    }
+
+    private final int width;
+    private final int mask;
+    private final int topK;
+    private final Duration decayInterval;
+    private final AtomicLongArray counters;
+    private final AtomicLong total = new AtomicLong();
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    // Smallest estimate among the top-K after the last prune; keys below it are not tracked
+    private volatile long admissionThreshold;
+    private ScheduledExecutorService decayExecutor;
+
+    public HotKeyTracker(@Value("${hot-keys.width:4096}") int width,
+                         @Value("${hot-keys.top-k:20}") int topK,
+                         @Value("${hot-keys.decay-interval:1m}") Duration decayInterval) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalStateException("hot-keys.width must be a power of two, was " + width);
+        }
+        this.width = width;
+        this.mask = width - 1;
+        this.topK = topK;
+        this.decayInterval = decayInterval;
+        this.counters = new AtomicLongArray(DEPTH * width);
+    }
+
+    @PostConstruct
+    public void start() {
+        decayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = decayInterval.toMillis();
+        decayExecutor.scheduleAtFixedRate(this::decay, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        decayExecutor.shutdownNow();
+    }
+
+    public void record(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, key)));
+        }
+        total.incrementAndGet();
+
+        if (estimate >= admissionThreshold && candidates.add(key) && candidates.size() > 2 * topK) {
+            prune();
+        }
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * The current heavy hitters, most frequent first, re-estimated from the sketch.
+     */
+    public List<HotKey> top() {
+        List<HotKey> hot = new ArrayList<>();
+        for (Long key : candidates) {
+            long estimate = estimate(key);
+            if (estimate > 0) {
+                hot.add(new HotKey(key, estimate));
+            }
+        }
+        hot.sort(Comparator.comparingLong(HotKey::estimate).reversed().thenComparingLong(HotKey::key));
+        return hot.size() > topK ? hot.subList(0, topK) : hot;
+    }
+
+    /**
+     * Number of sketch cells in the first row per power-of-two count range ({@code "1"},
+     * {@code "2-3"}, {@code "4-7"}, ...). While the sketch is sparse each cell is mostly one key,
+     * so this approximates how many keys are accessed how often.
+     */
+    public Map<String, Long> distribution() {
+        long[] buckets = new long[Long.SIZE];
+        for (int i = 0; i < width; i++) {
+            long count = counters.get(i);
+            if (count > 0) {
+                buckets[63 - Long.numberOfLeadingZeros(count)]++;
+            }
+        }
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int bit = 0; bit < buckets.length; bit++) {
+            if (buckets[bit] > 0) {
+                long low = 1L << bit;
+                long high = (low << 1) - 1;
+                distribution.put(low == high ? String.valueOf(low) : low + "-" + high, buckets[bit]);
+            }
+        }
+        return distribution;
+    }
+
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<HotKey> top = top();
+            if (top.size() >= topK) {
+                admissionThreshold = top.get(top.size() - 1).estimate();
+            }
+            Set<Long> keep = new HashSet<>();
+            top.forEach(hot -> keep.add(hot.key()));
+            candidates.retainAll(keep);
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private void decay() {
+        try {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.getAndUpdate(i, count -> count >> 1);
+            }
+            total.getAndUpdate(count -> count >> 1);
+            admissionThreshold = admissionThreshold >> 1;
+            candidates.removeIf(key -> estimate(key) == 0);
+        } catch (RuntimeException e) {
+            log.error("Failed to decay hot-key counts", e);
+        }
+    }
+
+    private int index(int row, long key) {
+        long hash = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 31)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * width + ((int) hash & mask);
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.microservices.common.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the {@link HotKeyTracker} that the services record entity accesses into, and its
+ * {@link HotKeysEndpoint} when Actuator is present.
+ */
+@AutoConfiguration
+@Import({HotKeyTracker.class, HotKeysAutoConfiguration.EndpointConfiguration.class})
+public class HotKeysAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @Import(HotKeysEndpoint.class)
+    static class EndpointConfiguration {
+    }
+}
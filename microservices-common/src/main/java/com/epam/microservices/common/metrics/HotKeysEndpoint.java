@@ -0,0 +1,28 @@
+package com.epam.microservices.common.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hotkeys}: the most requested entity IDs (resources or songs, whichever the
+ * service records) and the estimated access frequency distribution, both over recent traffic.
+ */
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("total", hotKeyTracker.total());
+        report.put("top", hotKeyTracker.top());
+        report.put("distribution", hotKeyTracker.distribution());
+        return report;
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.microservices.common.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds each request to its thread for {@link SqlStatementStats}, so statements are attributed
+ * to the endpoint that issued them and counted per request.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class SqlRequestTracker extends OncePerRequestFilter {
+
+    private final SqlStatementStats stats;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        stats.beginRequest(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.endRequest();
+        }
+    }
+}
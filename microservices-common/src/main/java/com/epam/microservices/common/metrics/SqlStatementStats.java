@@ -0,0 +1,300 @@
+package com.epam.microservices.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates JDBC statement executions by HTTP endpoint and statement fingerprint.
+ * <p>
+ * A fingerprint is the SQL with literals replaced by {@code ?} and {@code IN} lists collapsed,
+ * so the same query with different parameters counts as one statement. For each endpoint and
+ * fingerprint the count, rows, total and maximum time and a power-of-two latency histogram are
+ * kept in lock-free adders. Statements run outside a request, or on another thread such as a
+ * streamed response, are counted under {@code background}.
+ * <p>
+ * A request that issues more than {@code sql-stats.query-threshold} statements is flagged, with
+ * the fingerprint it repeated most: the usual sign of an N+1 pattern. The most recent flagged
+ * requests are kept for {@link SqlStatsEndpoint} and counted in {@code sql.requests.flagged}.
+ */
+@Slf4j
+public class SqlStatementStats {
+
+    static final String BACKGROUND = "background";
+    private static final String UNMAPPED = "unmapped";
+    private static final String OTHER = "(other statements)";
+
+    // Bounds the SQL-to-fingerprint cache; Hibernate reuses a small set of SQL strings
+    private static final int MAX_CACHED_SQL = 10_000;
+    // Latencies from 1 us up to about 17 minutes
+    private static final int LATENCY_BUCKETS = 30;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final int queryThreshold;
+    private final int maxStatementsPerEndpoint;
+    private final int flaggedCapacity;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Deque<FlaggedRequest> flagged = new ArrayDeque<>();
+    private final ReentrantLock flaggedLock = new ReentrantLock();
+    private final Counter flaggedRequests;
+
+    public SqlStatementStats(MeterRegistry meterRegistry,
+                             @Value("${sql-stats.query-threshold:20}") int queryThreshold,
+                             @Value("${sql-stats.max-statements-per-endpoint:200}") int maxStatementsPerEndpoint,
+                             @Value("${sql-stats.flagged-capacity:50}") int flaggedCapacity) {
+        this.queryThreshold = queryThreshold;
+        this.maxStatementsPerEndpoint = maxStatementsPerEndpoint;
+        this.flaggedCapacity = flaggedCapacity;
+        this.flaggedRequests = Counter.builder("sql.requests.flagged")
+                .description("Requests that issued more statements than sql-stats.query-threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Attributes statements on the current thread to {@code request} until {@link #endRequest}.
+     */
+    void beginRequest(HttpServletRequest request) {
+        CURRENT.set(new RequestQueries(request));
+    }
+
+    void endRequest() {
+        RequestQueries queries = CURRENT.get();
+        CURRENT.remove();
+        if (queries == null) {
+            return;
+        }
+        String endpoint = queries.endpoint();
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+        stats.requests.increment();
+        stats.requestQueries.add(queries.total);
+        stats.maxQueriesPerRequest.accumulateAndGet(queries.total, Math::max);
+        if (queries.total > queryThreshold) {
+            stats.flaggedRequests.increment();
+            flag(endpoint, queries);
+        }
+    }
+
+    /**
+     * Records one execution and returns the statement's stats, to which rows read later are added.
+     */
+    StatementStats record(String sql, long elapsedNanos, long rows) {
+        RequestQueries queries = CURRENT.get();
+        String endpoint = queries != null ? queries.endpoint() : BACKGROUND;
+        String fingerprint = fingerprint(sql);
+
+        EndpointStats endpointStats = endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+        StatementStats stats = endpointStats.statements.get(fingerprint);
+        if (stats == null) {
+            String key = endpointStats.statements.size() < maxStatementsPerEndpoint ? fingerprint : OTHER;
+            stats = endpointStats.statements.computeIfAbsent(key, k -> new StatementStats());
+        }
+        stats.record(elapsedNanos, rows);
+
+        if (queries != null) {
+            queries.total++;
+            queries.byFingerprint.merge(fingerprint, 1, Integer::sum);
+        }
+        return stats;
+    }
+
+    static String normalize(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("in (?)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("queryThreshold", queryThreshold);
+
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> byEndpoint.put(entry.getKey(), entry.getValue().describe()));
+        report.put("endpoints", byEndpoint);
+
+        flaggedLock.lock();
+        try {
+            report.put("flagged", new ArrayList<>(flagged));
+        } finally {
+            flaggedLock.unlock();
+        }
+        return report;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        flaggedLock.lock();
+        try {
+            flagged.clear();
+        } finally {
+            flaggedLock.unlock();
+        }
+    }
+
+    private String fingerprint(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (fingerprints.size() < MAX_CACHED_SQL) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    private void flag(String endpoint, RequestQueries queries) {
+        Map.Entry<String, Integer> mostRepeated = queries.byFingerprint.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow();
+        FlaggedRequest request = new FlaggedRequest(Instant.now(), endpoint, queries.total,
+                mostRepeated.getKey(), mostRepeated.getValue());
+        flaggedRequests.increment();
+        log.debug("{} issued {} statements, {} of them: {}",
+                endpoint, queries.total, mostRepeated.getValue(), mostRepeated.getKey());
+
+        flaggedLock.lock();
+        try {
+            if (flagged.size() >= flaggedCapacity) {
+                flagged.removeFirst();
+            }
+            flagged.addLast(request);
+        } finally {
+            flaggedLock.unlock();
+        }
+    }
+
+    public record FlaggedRequest(Instant at, String endpoint, int statements,
+                                 String mostRepeated, int mostRepeatedCount) {
+    }
+
+    /**
+     * Statements issued by the request bound to the current thread. Only that thread touches it.
+     */
+    private static final class RequestQueries {
+
+        private final HttpServletRequest request;
+        private final Map<String, Integer> byFingerprint = new HashMap<>();
+        private int total;
+
+        private RequestQueries(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        // The pattern is only known once the handler has been mapped, so it is looked up on use
+        private String endpoint() {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+        }
+    }
+
+    private static final class EndpointStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder requestQueries = new LongAdder();
+        private final AtomicLong maxQueriesPerRequest = new AtomicLong();
+        private final LongAdder flaggedRequests = new LongAdder();
+        private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+        private Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            long requestCount = requests.sum();
+            if (requestCount > 0) {
+                description.put("requests", requestCount);
+                description.put("meanStatementsPerRequest", (double) requestQueries.sum() / requestCount);
+                description.put("maxStatementsPerRequest", maxQueriesPerRequest.get());
+                description.put("flaggedRequests", flaggedRequests.sum());
+            }
+            List<Map<String, Object>> byStatement = new ArrayList<>();
+            statements.entrySet().stream()
+                    .sorted(Comparator.comparingLong(
+                            (Map.Entry<String, StatementStats> entry) -> entry.getValue().totalNanos.sum()).reversed())
+                    .forEach(entry -> byStatement.add(entry.getValue().describe(entry.getKey())));
+            description.put("statements", byStatement);
+            return description;
+        }
+    }
+
+    static final class StatementStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+
+        private StatementStats() {
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LongAdder();
+            }
+        }
+
+        void addRows(long added) {
+            rows.add(added);
+        }
+
+        private void record(long elapsedNanos, long addedRows) {
+            count.increment();
+            rows.add(addedRows);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), 1);
+            latency[Math.min(63 - Long.numberOfLeadingZeros(micros), LATENCY_BUCKETS - 1)].increment();
+        }
+
+        private Map<String, Object> describe(String fingerprint) {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("sql", fingerprint);
+            description.put("count", executions);
+            description.put("rows", rows.sum());
+            description.put("totalMillis", total / 1_000_000.0);
+            description.put("meanMillis", executions > 0 ? total / 1_000_000.0 / executions : 0.0);
+            description.put("maxMillis", maxNanos.get() / 1_000_000.0);
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int bit = 0; bit < latency.length; bit++) {
+                long bucket = latency[bit].sum();
+                if (bucket > 0) {
+                    long low = 1L << bit;
+                    long high = (low << 1) - 1;
+                    histogram.put(low == high ? String.valueOf(low) : low + "-" + high, bucket);
+                }
+            }
+            description.put("latencyMicros", histogram);
+            return description;
+        }
+    }
+}
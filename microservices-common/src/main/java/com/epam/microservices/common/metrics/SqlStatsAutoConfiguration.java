@@ -0,0 +1,28 @@
+package com.epam.microservices.common.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers {@link SqlStatementStats} in servlet services, with the data source wrapper and
+ * request filter that feed it, and its {@link SqlStatsEndpoint} when Actuator is present.
+ * Turned off with {@code sql-stats.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "sql-stats.enabled", matchIfMissing = true)
+@Import({SqlStatementStats.class, SqlStatsDataSourcePostProcessor.class, SqlRequestTracker.class,
+        SqlStatsAutoConfiguration.EndpointConfiguration.class})
+public class SqlStatsAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @Import(SqlStatsEndpoint.class)
+    static class EndpointConfiguration {
+    }
+}
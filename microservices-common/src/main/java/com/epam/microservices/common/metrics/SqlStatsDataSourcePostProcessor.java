@@ -0,0 +1,177 @@
+package com.epam.microservices.common.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps the application's {@code dataSource} so that every statement executed through it is
+ * recorded in {@link SqlStatementStats}.
+ * <p>
+ * Only the bean named {@code dataSource} is wrapped, the one JPA and the repositories use, so
+ * pools behind a routing data source are not counted twice. The wrapper is a class-based proxy:
+ * beans that inject the concrete type, such as a routing data source, still get it.
+ * Connections, statements and result sets are JDK proxies that time each {@code execute*} call
+ * and count the rows updated or read; everything else goes straight to the driver.
+ */
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Resolved lazily so that this post-processor does not create the stats bean too early
+    private final ObjectProvider<SqlStatementStats> stats;
+
+    public SqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatementStats> stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource)) {
+            return bean;
+        }
+        SqlStatementStats statementStats = stats.getObject();
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            if (result instanceof Connection connection
+                    && invocation.getMethod().getName().equals("getConnection")) {
+                return proxy(Connection.class, new ConnectionHandler(connection, statementStats));
+            }
+            return result;
+        });
+        return factory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                SqlStatsDataSourcePostProcessor.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Identity semantics for the proxy itself, so that pools and maps keyed by it behave.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private record ConnectionHandler(Connection target, SqlStatementStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = SqlStatsDataSourcePostProcessor.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class,
+                        new StatementHandler((Statement) result, null, stats));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], stats));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], stats));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final SqlStatementStats stats;
+        // Statement whose rows a result set obtained through getResultSet() belongs to
+        private SqlStatementStats.StatementStats lastExecuted;
+
+        private StatementHandler(Statement target, String preparedSql, SqlStatementStats stats) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) SqlStatsDataSourcePostProcessor.invoke(target, method, args);
+                return resultSet != null && lastExecuted != null ? countRows(resultSet, lastExecuted) : resultSet;
+            }
+            if (!name.startsWith("execute")) {
+                return SqlStatsDataSourcePostProcessor.invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SqlStatsDataSourcePostProcessor.invoke(target, method, args);
+            } catch (Throwable e) {
+                lastExecuted = stats.record(sql, System.nanoTime() - start, 0);
+                throw e;
+            }
+            lastExecuted = stats.record(sql, System.nanoTime() - start, updatedRows(result));
+            return result instanceof ResultSet resultSet ? countRows(resultSet, lastExecuted) : result;
+        }
+
+        private static long updatedRows(Object result) {
+            if (result instanceof Number count) {
+                return Math.max(count.longValue(), 0);
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static ResultSet countRows(ResultSet resultSet, SqlStatementStats.StatementStats statement) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                statement.addRows(1);
+            }
+            return result;
+        });
+    }
+}
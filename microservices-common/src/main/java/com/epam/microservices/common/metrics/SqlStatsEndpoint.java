@@ -0,0 +1,29 @@
+package com.epam.microservices.common.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlstats}: statement counts, rows and latencies per endpoint and SQL
+ * fingerprint, and the latest requests that issued too many statements. {@code DELETE} resets.
+ */
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlStatementStats stats;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        return stats.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
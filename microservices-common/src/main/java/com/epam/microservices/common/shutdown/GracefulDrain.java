@@ -0,0 +1,126 @@
+package com.epam.microservices.common.shutdown;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * First step of shutdown: leave the load-balancer rotation before the web server stops.
+ * <p>
+ * Being in the last lifecycle phase, this stops before the web server's graceful shutdown.
+ * It marks the instance {@code DOWN} in Eureka, then keeps serving normally for
+ * {@code drain.propagation-delay}, the time the gateway and other clients need to refresh
+ * their registry and load-balancer caches. It then waits for in-flight requests to finish,
+ * until {@code drain.timeout} after the start of the drain. Only after that does the web
+ * server stop accepting connections and the context close.
+ * <p>
+ * Publishes {@code drain.active}, {@code drain.duration} and {@code drain.requests.abandoned}
+ * (requests still running at the deadline). Registered by {@link GracefulDrainAutoConfiguration}.
+ */
+@Slf4j
+public class GracefulDrain implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 50;
+
+    private final ApplicationInfoManager applicationInfoManager;
+    private final InFlightRequestTracker inFlightRequestTracker;
+    private final boolean enabled;
+    private final Duration propagationDelay;
+    private final Duration timeout;
+
+    private final AtomicLong active = new AtomicLong();
+    private final AtomicLong durationMillis = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+
+    private volatile boolean running;
+
+    public GracefulDrain(ApplicationInfoManager applicationInfoManager,
+                         InFlightRequestTracker inFlightRequestTracker,
+                         MeterRegistry meterRegistry,
+                         @Value("${drain.enabled:true}") boolean enabled,
+                         @Value("${drain.propagation-delay:15s}") Duration propagationDelay,
+                         @Value("${drain.timeout:30s}") Duration timeout) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.inFlightRequestTracker = inFlightRequestTracker;
+        this.enabled = enabled;
+        this.propagationDelay = propagationDelay;
+        this.timeout = timeout;
+
+        Gauge.builder("drain.active", active, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("drain.duration", durationMillis, millis -> millis.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("drain.requests.abandoned", abandoned, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (!enabled) {
+            return;
+        }
+        active.set(1);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        log.info("Draining: marking instance DOWN, {} requests in flight", inFlightRequestTracker.getInFlight());
+        applicationInfoManager.setInstanceStatus(InstanceStatus.DOWN);
+
+        // Clients may still route here until their caches expire, so keep serving until then
+        sleepUntil(Math.min(startedAt + propagationDelay.toNanos(), deadline));
+        while (inFlightRequestTracker.getInFlight() > 0 && System.nanoTime() < deadline) {
+            if (!sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS))) {
+                break;
+            }
+        }
+
+        abandoned.set(inFlightRequestTracker.getInFlight());
+        durationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        active.set(0);
+        if (abandoned.get() > 0) {
+            log.warn("Drain deadline reached after {} ms with {} requests still in flight",
+                    durationMillis.get(), abandoned.get());
+        } else {
+            log.info("Drained in {} ms", durationMillis.get());
+        }
+    }
+
+    /**
+     * @return false if interrupted
+     */
+    private static boolean sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.epam.microservices.common.shutdown;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the {@link GracefulDrain} of a servlet service registered with Eureka, and the
+ * {@link InFlightRequestTracker} filter it waits on.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(ApplicationInfoManager.class)
+@Import({InFlightRequestTracker.class, GracefulDrain.class})
+public class GracefulDrainAutoConfiguration {
+}
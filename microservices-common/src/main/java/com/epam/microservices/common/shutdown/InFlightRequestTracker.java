@@ -0,0 +1,71 @@
+package com.epam.microservices.common.shutdown;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts requests being handled, including streamed responses that complete asynchronously,
+ * so a shutdown can wait for them. Published as {@code requests.in-flight}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InFlightRequestTracker extends OncePerRequestFilter {
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public InFlightRequestTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("requests.in-flight", inFlight, AtomicLong::get)
+                .description("HTTP requests currently being handled")
+                .register(meterRegistry);
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inFlight.incrementAndGet();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        inFlight.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } finally {
+            if (!async) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
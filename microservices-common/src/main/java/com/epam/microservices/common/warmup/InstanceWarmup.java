@@ -0,0 +1,114 @@
+package com.epam.microservices.common.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a new instance out of rotation until its hot paths are warm.
+ * <p>
+ * The instance registers with Eureka as {@code STARTING} ({@code eureka.instance.initial-status}),
+ * and the gateway and other clients only route to {@code UP} instances. Once the application is
+ * ready, {@link WarmupWorkload} runs in rounds of {@code warmup.iterations-per-round}. The warm-up
+ * ends when three rounds in a row each take within {@code warmup.stability-threshold} of the
+ * previous round, or when {@code warmup.max-duration} has passed. Only then is the instance
+ * marked {@code UP}. A failing workload ends the warm-up early rather than keeping the instance
+ * out of service.
+ * <p>
+ * The time taken is logged and published as {@code warmup.duration}, with {@code warmup.rounds}.
+ * Registered by {@link InstanceWarmupAutoConfiguration} when the service defines a workload.
+ */
+@Slf4j
+public class InstanceWarmup {
+
+    private static final int STABLE_ROUNDS = 3;
+
+    private final WarmupWorkload workload;
+    private final ApplicationInfoManager applicationInfoManager;
+    private final boolean enabled;
+    private final Duration maxDuration;
+    private final double stabilityThreshold;
+    private final int iterationsPerRound;
+
+    private final AtomicLong durationMillis = new AtomicLong();
+    private final AtomicLong rounds = new AtomicLong();
+
+    public InstanceWarmup(WarmupWorkload workload,
+                          ApplicationInfoManager applicationInfoManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${warmup.enabled:true}") boolean enabled,
+                          @Value("${warmup.max-duration:30s}") Duration maxDuration,
+                          @Value("${warmup.stability-threshold:0.1}") double stabilityThreshold,
+                          @Value("${warmup.iterations-per-round:20}") int iterationsPerRound) {
+        this.workload = workload;
+        this.applicationInfoManager = applicationInfoManager;
+        this.enabled = enabled;
+        this.maxDuration = maxDuration;
+        this.stabilityThreshold = stabilityThreshold;
+        this.iterationsPerRound = iterationsPerRound;
+
+        Gauge.builder("warmup.duration", durationMillis, millis -> millis.get() / 1000.0)
+                .description("Time spent warming up before registering as UP")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("warmup.rounds", rounds, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            markUp();
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        Thread thread = new Thread(() -> warmUp("http://localhost:" + port), "instance-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp(String baseUrl) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + maxDuration.toNanos();
+        long previousRound = 0;
+        int stableRounds = 0;
+        try {
+            while (stableRounds < STABLE_ROUNDS && System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                for (int i = 0; i < iterationsPerRound; i++) {
+                    workload.run(baseUrl);
+                }
+                long round = System.nanoTime() - roundStart;
+                boolean stable = previousRound > 0 && Math.abs(round - previousRound) <= previousRound * stabilityThreshold;
+                stableRounds = stable ? stableRounds + 1 : 0;
+                previousRound = round;
+                rounds.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up workload failed, registering without further warm-up", e);
+        } finally {
+            durationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("Warm-up finished in {} ms after {} rounds ({}), last round {} ms",
+                    durationMillis.get(), rounds.get(),
+                    stableRounds >= STABLE_ROUNDS ? "stable" : "not stable",
+                    TimeUnit.NANOSECONDS.toMillis(previousRound));
+            markUp();
+        }
+    }
+
+    private void markUp() {
+        // A shutdown that began during the warm-up has already taken the instance out of rotation
+        if (applicationInfoManager.getInfo().getStatus() == InstanceStatus.STARTING) {
+            applicationInfoManager.setInstanceStatus(InstanceStatus.UP);
+        }
+    }
+}
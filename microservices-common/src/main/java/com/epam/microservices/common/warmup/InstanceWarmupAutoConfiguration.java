@@ -0,0 +1,20 @@
+package com.epam.microservices.common.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the {@link InstanceWarmup} of a service that registers with Eureka and defines a
+ * {@link WarmupWorkload}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication
+@ConditionalOnClass(ApplicationInfoManager.class)
+@ConditionalOnBean(WarmupWorkload.class)
+@Import(InstanceWarmup.class)
+public class InstanceWarmupAutoConfiguration {
+}
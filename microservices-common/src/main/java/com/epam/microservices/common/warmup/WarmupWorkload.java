@@ -0,0 +1,14 @@
+package com.epam.microservices.common.warmup;
+
+/**
+ * One pass over the request paths of a service that are slow while cold, run repeatedly by
+ * {@link InstanceWarmup} before the instance is marked {@code UP}. Must leave no trace: nothing
+ * written, no accesses recorded in metrics that operators read.
+ */
+public interface WarmupWorkload {
+
+    /**
+     * @param baseUrl address of this instance's web server, for exercising the HTTP stack
+     */
+    void run(String baseUrl);
+}
@@ -0,0 +1,37 @@
+package com.epam.microservices.common.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeysAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // As in a Boot application, so that durations like 1m convert
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(HotKeysAutoConfiguration.class));
+
+    @Test
+    void registersTheTrackerAndItsEndpoint() {
+        contextRunner.withPropertyValues("hot-keys.top-k=2").run(context -> {
+            HotKeyTracker tracker = context.getBean(HotKeyTracker.class);
+            for (long key : new long[]{1, 1, 1, 2, 2, 3}) {
+                tracker.record(key);
+            }
+
+            assertThat(context).hasSingleBean(HotKeysEndpoint.class);
+            assertThat(tracker.top()).extracting(HotKeyTracker.HotKey::key).containsExactly(1L, 2L);
+            assertThat(context.getBean(HotKeysEndpoint.class).hotKeys()).containsEntry("total", 6L);
+        });
+    }
+
+    @Test
+    void rejectsAWidthThatIsNotAPowerOfTwo() {
+        contextRunner.withPropertyValues("hot-keys.width=1000")
+                .run(context -> assertThat(context).hasFailed());
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.microservices.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlStatsAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean("dataSource", DataSource.class, SqlStatsAutoConfigurationTest::dataSource)
+            .withConfiguration(AutoConfigurations.of(SqlStatsAutoConfiguration.class));
+
+    @Test
+    void recordsStatementsRunThroughTheDataSource() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(SqlRequestTracker.class).hasSingleBean(SqlStatsEndpoint.class);
+
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            try (Connection connection = dataSource.getConnection()) {
+                connection.prepareStatement("select * from songs where id = 42").executeQuery().next();
+            }
+
+            Map<?, ?> background = (Map<?, ?>) ((Map<?, ?>) context.getBean(SqlStatementStats.class)
+                    .report().get("endpoints")).get(SqlStatementStats.BACKGROUND);
+            assertThat(background.toString()).contains("select * from songs where id = ?", "rows=1");
+        });
+    }
+
+    @Test
+    void leavesTheDataSourceAloneWhenDisabled() {
+        contextRunner.withPropertyValues("sql-stats.enabled=false").run(context -> {
+            assertThat(context).doesNotHaveBean(SqlStatementStats.class);
+            assertThat(context.getBean("dataSource")).isNotInstanceOf(Advised.class);
+        });
+    }
+
+    private static DataSource dataSource() {
+        try {
+            DataSource dataSource = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(dataSource.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, false);
+            return dataSource;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.epam.microservices.common.shutdown;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class GracefulDrainAutoConfigurationTest {
+
+    private final ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(ApplicationInfoManager.class, () -> applicationInfoManager)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withConfiguration(AutoConfigurations.of(GracefulDrainAutoConfiguration.class));
+
+    @Test
+    void drainsAServletServiceOnStop() {
+        contextRunner.withPropertyValues("drain.propagation-delay=0s", "drain.timeout=1s").run(context -> {
+            assertThat(context).hasSingleBean(InFlightRequestTracker.class);
+
+            context.getBean(GracefulDrain.class).stop();
+
+            verify(applicationInfoManager).setInstanceStatus(InstanceStatus.DOWN);
+            assertThat(context.getBean(MeterRegistry.class).get("drain.requests.abandoned").gauge().value())
+                    .isZero();
+        });
+    }
+
+    @Test
+    void backsOffOutsideServletApplications() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(GracefulDrainAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(GracefulDrain.class));
+    }
+}
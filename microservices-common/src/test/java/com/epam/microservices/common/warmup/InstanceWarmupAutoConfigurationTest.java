@@ -0,0 +1,35 @@
+package com.epam.microservices.common.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InstanceWarmupAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(ApplicationInfoManager.class, () -> mock(ApplicationInfoManager.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withConfiguration(AutoConfigurations.of(InstanceWarmupAutoConfiguration.class));
+
+    @Test
+    void warmsUpWithTheServicesWorkload() {
+        WarmupWorkload workload = baseUrl -> {
+        };
+        contextRunner.withBean(WarmupWorkload.class, () -> workload)
+                .run(context -> assertThat(context).hasSingleBean(InstanceWarmup.class));
+    }
+
+    @Test
+    void backsOffWithoutAWorkload() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(InstanceWarmup.class));
+    }
+}
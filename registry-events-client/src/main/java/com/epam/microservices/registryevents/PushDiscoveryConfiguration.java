@@ -0,0 +1,31 @@
+package com.epam.microservices.registryevents;
+
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplierBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Load-balancer client configuration, applied to every client by
+ * {@link RegistryEventsAutoConfiguration}. Deliberately not a {@code @Configuration}: it belongs
+ * in each client's child context.
+ */
+public class PushDiscoveryConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier pushServiceInstanceListSupplier(
+            ConfigurableApplicationContext context,
+            RegistryEventStream registryEventStream) {
+        ServiceInstanceListSupplierBuilder builder = ServiceInstanceListSupplier.builder();
+        // The client's context is a child of the application's: the gateway polls through the
+        // reactive discovery client, servlet services through the blocking one
+        if (context.getParent() instanceof ReactiveWebApplicationContext) {
+            builder.withDiscoveryClient();
+        } else {
+            builder.withBlockingDiscoveryClient();
+        }
+        ServiceInstanceListSupplier polling = builder.build(context);
+        return new PushServiceInstanceListSupplier(polling, registryEventStream);
+    }
+}
@@ -0,0 +1,131 @@
+package com.epam.microservices.registryevents;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Instance list for one service that follows registry events as they are pushed, with the
+ * regular discovery client polled as a fallback.
+ * <p>
+ * The polled list is the base. Changes pushed by {@link RegistryEventStream} are applied on top
+ * at once, and are kept for {@code registry-events.push-grace}. That is long enough for the
+ * Eureka server's response cache and this client's registry fetch to catch up, so a poll cannot
+ * bring back an instance that just went away, or drop one that just arrived. If the stream is
+ * down, the list simply follows the polls.
+ */
+@Slf4j
+public class PushServiceInstanceListSupplier implements ServiceInstanceListSupplier, DisposableBean {
+
+    /**
+     * A pushed change not yet trusted to be reflected in the polled list; {@code instance} is
+     * null for an instance that left the rotation.
+     */
+    private record PushedChange(ServiceInstance instance, long atNanos) {
+    }
+
+    private final ServiceInstanceListSupplier polling;
+    private final RegistryEventStream registryEventStream;
+    private final long pushGraceNanos;
+    private final Consumer<RegistryEvent> listener = this::onEvent;
+    private final Sinks.Many<List<ServiceInstance>> instances = Sinks.many().replay().latest();
+    private final Disposable pollSubscription;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, PushedChange> pushed = new HashMap<>();
+    private List<ServiceInstance> polled;
+
+    public PushServiceInstanceListSupplier(ServiceInstanceListSupplier polling, RegistryEventStream registryEventStream) {
+        this.polling = polling;
+        this.registryEventStream = registryEventStream;
+        this.pushGraceNanos = registryEventStream.getPushGrace().toNanos();
+        registryEventStream.addListener(listener);
+        this.pollSubscription = Flux.interval(Duration.ZERO, registryEventStream.getPollInterval())
+                .concatMap(tick -> polling.get().next()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to poll instances of {}", getServiceId(), e);
+                            return Mono.empty();
+                        }))
+                .subscribe(this::onPoll);
+    }
+
+    @Override
+    public String getServiceId() {
+        return polling.getServiceId();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return instances.asFlux();
+    }
+
+    @Override
+    public void destroy() {
+        registryEventStream.removeListener(listener);
+        pollSubscription.dispose();
+    }
+
+    private void onPoll(List<ServiceInstance> list) {
+        lock.lock();
+        try {
+            polled = list;
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onEvent(RegistryEvent event) {
+        if (!getServiceId().equalsIgnoreCase(event.app())) {
+            return;
+        }
+        ServiceInstance instance = event.isUp()
+                ? new DefaultServiceInstance(event.instanceId(), getServiceId(), event.host(), event.port(),
+                        Boolean.TRUE.equals(event.secure()), event.metadata())
+                : null;
+        lock.lock();
+        try {
+            pushed.put(event.instanceId(), new PushedChange(instance, System.nanoTime()));
+            // Until the first poll there is no base list to apply the change to
+            if (polled != null) {
+                publish();
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.debug("{} {} {} from registry event", getServiceId(), event.instanceId(), instance != null ? "added" : "removed");
+    }
+
+    private void publish() {
+        long now = System.nanoTime();
+        pushed.values().removeIf(change -> now - change.atNanos() > pushGraceNanos);
+
+        Map<String, ServiceInstance> merged = new LinkedHashMap<>();
+        for (ServiceInstance instance : polled) {
+            merged.put(instance.getInstanceId(), instance);
+        }
+        pushed.forEach((instanceId, change) -> {
+            if (change.instance() == null) {
+                merged.remove(instanceId);
+            } else {
+                merged.putIfAbsent(instanceId, change.instance());
+            }
+        });
+        instances.tryEmitNext(List.copyOf(merged.values()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.microservices.registryevents;
+
+import java.util.Map;
+
+/**
+ * A change to one registered instance, as pushed by eureka-service on {@code /registry/events}.
+ */
+public record RegistryEvent(
+        String type,
+        String app,
+        String instanceId,
+        String status,
+        String host,
+        Integer port,
+        Boolean secure,
+        Map<String, String> metadata
+) {
+
+    public static final String REGISTERED = "REGISTERED";
+
+    /**
+     * Whether the instance should now receive traffic; false for cancellations and any status but UP.
+     */
+    public boolean isUp() {
+        return REGISTERED.equals(type) && "UP".equals(status);
+    }
+}
@@ -0,0 +1,224 @@
+package com.epam.microservices.registryevents;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Subscription to eureka-service's registry change stream ({@code /registry/events}, server-sent
+ * events), shared by all load-balancer clients of this application.
+ * <p>
+ * Runs on its own thread and reconnects with exponential backoff. The server sends a keep-alive
+ * every 15 s, so a connection that has been silent for {@link #IDLE_TIMEOUT} is assumed dead and
+ * reopened. Events missed while disconnected are not replayed; the regular registry fetch covers
+ * that gap. Registered by {@link RegistryEventsAutoConfiguration}.
+ */
+@Slf4j
+public class RegistryEventStream {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(45);
+
+    private final URI uri;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+    private final Duration pushGrace;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Consumer<RegistryEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile InputStream body;
+    private volatile long lastReadNanos;
+    private Thread reader;
+    private ScheduledExecutorService watchdog;
+
+    public RegistryEventStream(ObjectMapper objectMapper,
+                               @Value("${eureka.client.serviceUrl.defaultZone}") String defaultZone,
+                               @Value("${registry-events.poll-interval:5s}") Duration pollInterval,
+                               @Value("${registry-events.push-grace:30s}") Duration pushGrace) {
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.pushGrace = pushGrace;
+        this.uri = URI.create(defaultZone.split(",")[0].trim()).resolve("/registry/events");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        reader = new Thread(this::run, "registry-events");
+        reader.setDaemon(true);
+        reader.start();
+
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registry-events-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleAtFixedRate(() -> {
+            if (connected && System.nanoTime() - lastReadNanos > IDLE_TIMEOUT.toNanos()) {
+                log.warn("No registry events or keep-alives for {} s, reconnecting", IDLE_TIMEOUT.toSeconds());
+                closeBody();
+            }
+        }, 5, 5, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        watchdog.shutdownNow();
+        closeBody();
+        reader.interrupt();
+    }
+
+    public void addListener(Consumer<RegistryEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<RegistryEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * How often load balancers should re-read the fetched registry.
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * How long a pushed change should override the fetched registry.
+     */
+    public Duration getPushGrace() {
+        return pushGrace;
+    }
+
+    private void run() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            try {
+                if (consume()) {
+                    backoff = INITIAL_BACKOFF;
+                }
+            } catch (IOException e) {
+                log.debug("Registry event stream at {} failed: {}", uri, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                if (connected) {
+                    log.info("Registry event stream disconnected, falling back to registry fetches");
+                }
+                connected = false;
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(MAX_BACKOFF) > 0) {
+                backoff = MAX_BACKOFF;
+            }
+        }
+    }
+
+    /**
+     * Reads events until the stream ends.
+     *
+     * @return whether a connection was established
+     */
+    private boolean consume() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Unexpected status " + response.statusCode());
+        }
+
+        body = response.body();
+        lastReadNanos = System.nanoTime();
+        connected = true;
+        log.info("Subscribed to registry events at {}", uri);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            StringBuilder data = new StringBuilder();
+            String line;
+            while (running && (line = lines.readLine()) != null) {
+                lastReadNanos = System.nanoTime();
+                if (line.isEmpty()) {
+                    if (!data.isEmpty()) {
+                        dispatch(data.toString());
+                        data.setLength(0);
+                    }
+                } else if (line.startsWith("data:")) {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring(5).stripLeading());
+                }
+                // Event names, IDs and keep-alive comments carry nothing the payload doesn't
+            }
+        }
+        return true;
+    }
+
+    private void dispatch(String json) {
+        RegistryEvent event;
+        try {
+            event = objectMapper.readValue(json, RegistryEvent.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed registry event: {}", json);
+            return;
+        }
+        log.debug("Registry event: {} {} {}", event.type(), event.instanceId(), event.status());
+        for (Consumer<RegistryEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Registry event listener failed", e);
+            }
+        }
+    }
+
+    private void closeBody() {
+        InputStream current = body;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("Failed to close registry event stream", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.microservices.registryevents;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Routes load-balanced calls by instance lists that follow pushed registry events.
+ * With {@code registry-events.enabled=false}, the default polled and cached lists are used.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(value = "registry-events.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PushDiscoveryConfiguration.class)
+@Import(RegistryEventStream.class)
+public class RegistryEventsAutoConfiguration {
+}
@@ -0,0 +1,36 @@
+package com.epam.microservices.registryevents;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClientSpecification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryEventsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(ObjectMapper.class)
+            .withPropertyValues("eureka.client.serviceUrl.defaultZone=http://localhost:1/eureka/")
+            .withConfiguration(AutoConfigurations.of(RegistryEventsAutoConfiguration.class));
+
+    @Test
+    void subscribesAndAppliesThePushSupplierToEveryClient() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(RegistryEventStream.class);
+            assertThat(context.getBeansOfType(LoadBalancerClientSpecification.class).values())
+                    .anySatisfy(specification -> assertThat(specification.getConfiguration())
+                            .containsExactly(PushDiscoveryConfiguration.class));
+        });
+    }
+
+    @Test
+    void backsOffWhenDisabled() {
+        contextRunner.withPropertyValues("registry-events.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(RegistryEventStream.class));
+    }
+}
@@ -0,0 +1,191 @@
+package com.epam.microservices.resourceservice.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Sparse map from play time to the byte offset of the frame starting at that time: the first
+ * frame of every {@value #SAMPLE_INTERVAL_MILLIS} ms interval.
+ * <p>
+ * Stored encoded as unsigned varints: a format version, the entry count, the total duration,
+ * then each entry as the delta of its time and offset from the previous one. Deltas are small
+ * and regular, so an hour of audio takes under 20 KB.
+ */
+public final class Mp3FrameIndex {
+
+    public static final long SAMPLE_INTERVAL_MILLIS = 1000;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final Mp3FrameIndex EMPTY = new Mp3FrameIndex(new long[0], new long[0], 0);
+
+    private final long[] timesMillis;
+    private final long[] offsets;
+    private final long durationMillis;
+
+    private Mp3FrameIndex(long[] timesMillis, long[] offsets, long durationMillis) {
+        this.timesMillis = timesMillis;
+        this.offsets = offsets;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * A frame boundary and the play time it starts at.
+     */
+    public record SeekPoint(long millis, long offset) {
+    }
+
+    /**
+     * Walks all frames of {@code data} and keeps the first frame at or after every sample interval.
+     */
+    public static Mp3FrameIndex build(byte[] data) {
+        Builder builder = new Builder();
+        Mp3Frames.forEachFrame(data, builder::visit);
+        return builder.build();
+    }
+
+    /**
+     * Decodes an index written by {@link #encode()}. {@code null} or empty input, e.g. from
+     * resources uploaded before indexing existed, yields an empty index.
+     *
+     * @throws IllegalArgumentException if the input is not a valid index
+     */
+    public static Mp3FrameIndex decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return EMPTY;
+        }
+        int[] position = {0};
+        if (readVarint(encoded, position) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported frame index format");
+        }
+        int count = Math.toIntExact(readVarint(encoded, position));
+        long duration = readVarint(encoded, position);
+        long[] times = new long[count];
+        long[] offsets = new long[count];
+        long time = 0;
+        long offset = 0;
+        for (int i = 0; i < count; i++) {
+            time += readVarint(encoded, position);
+            offset += readVarint(encoded, position);
+            times[i] = time;
+            offsets[i] = offset;
+        }
+        return new Mp3FrameIndex(times, offsets, duration);
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + timesMillis.length * 4);
+        writeVarint(out, FORMAT_VERSION);
+        writeVarint(out, timesMillis.length);
+        writeVarint(out, durationMillis);
+        long previousTime = 0;
+        long previousOffset = 0;
+        for (int i = 0; i < timesMillis.length; i++) {
+            writeVarint(out, timesMillis[i] - previousTime);
+            writeVarint(out, offsets[i] - previousOffset);
+            previousTime = timesMillis[i];
+            previousOffset = offsets[i];
+        }
+        return out.toByteArray();
+    }
+
+    public boolean isEmpty() {
+        return timesMillis.length == 0;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns the indexed frame boundary nearest to {@code millis}, found by binary search.
+     * An empty index seeks to the start of the file.
+     */
+    public SeekPoint seek(long millis) {
+        if (timesMillis.length == 0) {
+            return new SeekPoint(0, 0);
+        }
+        int index = Arrays.binarySearch(timesMillis, millis);
+        if (index < 0) {
+            int next = -index - 1;
+            if (next == 0) {
+                index = 0;
+            } else if (next == timesMillis.length) {
+                index = next - 1;
+            } else {
+                index = timesMillis[next] - millis < millis - timesMillis[next - 1] ? next : next - 1;
+            }
+        }
+        return new SeekPoint(timesMillis[index], offsets[index]);
+    }
+
+    /**
+     * Returns the first indexed frame boundary at or after {@code millis}, or {@code null} if
+     * there is none before the end of the file.
+     */
+    public SeekPoint seekAtOrAfter(long millis) {
+        int index = Arrays.binarySearch(timesMillis, millis);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < timesMillis.length ? new SeekPoint(timesMillis[index], offsets[index]) : null;
+    }
+
+    /**
+     * Offset of the first frame; everything before it is the ID3v2 tag or other leading data.
+     */
+    public long firstFrameOffset() {
+        return offsets.length == 0 ? 0 : offsets[0];
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] in, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= in.length) {
+                throw new IllegalArgumentException("Truncated frame index");
+            }
+            byte b = in[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed frame index");
+    }
+
+    private static final class Builder {
+
+        private long[] times = new long[64];
+        private long[] offsets = new long[64];
+        private int count;
+        private long nextSampleMillis;
+        private long endMicros;
+
+        private void visit(int offset, Mp3Frames.FrameHeader header, long startMicros) {
+            long millis = startMicros / 1000;
+            // Sample on a fixed grid so that rounding does not accumulate over long tracks
+            if (millis >= nextSampleMillis) {
+                nextSampleMillis = (millis / SAMPLE_INTERVAL_MILLIS + 1) * SAMPLE_INTERVAL_MILLIS;
+                if (count == times.length) {
+                    times = Arrays.copyOf(times, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                times[count] = millis;
+                offsets[count] = offset;
+                count++;
+            }
+            endMicros = startMicros + header.durationMicros();
+        }
+
+        private Mp3FrameIndex build() {
+            return new Mp3FrameIndex(Arrays.copyOf(times, count), Arrays.copyOf(offsets, count), endMicros / 1000);
+        }
+    }
+}
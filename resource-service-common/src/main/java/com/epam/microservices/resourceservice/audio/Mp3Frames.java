@@ -0,0 +1,153 @@
+package com.epam.microservices.resourceservice.audio;
+
+/**
+ * Minimal MPEG audio frame header parser. Walks frame headers to find frame boundaries and
+ * their play times without decoding any audio.
+ */
+public final class Mp3Frames {
+
+    private static final int ID3_HEADER_LENGTH = 10;
+    private static final int ID3_FOOTER_FLAG = 0x10;
+    private static final int HEADER_LENGTH = 4;
+
+    private static final int VERSION_2_5 = 0;
+    private static final int VERSION_1 = 3;
+    private static final int LAYER_3 = 1;
+    private static final int LAYER_2 = 2;
+    private static final int LAYER_1 = 3;
+
+    // Bitrates in kbit/s by [MPEG-1 ? 0 : 1][layer I, II, III][bitrate index]
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+            }
+    };
+
+    // Sample rates in Hz by [version bits][sample rate index]; version 1 is reserved
+    private static final int[][] SAMPLE_RATES = {
+            {11025, 12000, 8000},
+            {0, 0, 0},
+            {22050, 24000, 16000},
+            {44100, 48000, 32000}
+    };
+
+    private Mp3Frames() {
+    }
+
+    /**
+     * Length, sample count and sample rate of one frame.
+     */
+    public record FrameHeader(int length, int samples, int sampleRate) {
+
+        public long durationMicros() {
+            return samples * 1_000_000L / sampleRate;
+        }
+    }
+
+    @FunctionalInterface
+    public interface FrameVisitor {
+        void visit(int offset, FrameHeader header, long startMicros);
+    }
+
+    /**
+     * Offset of the first byte after a leading ID3v2 tag, or 0 if there is none.
+     */
+    public static int audioStart(byte[] data) {
+        if (data.length < ID3_HEADER_LENGTH || data[0] != 'I' || data[1] != 'D' || data[2] != '3') {
+            return 0;
+        }
+        int size = ((data[6] & 0x7F) << 21) | ((data[7] & 0x7F) << 14) | ((data[8] & 0x7F) << 7) | (data[9] & 0x7F);
+        int footer = (data[5] & ID3_FOOTER_FLAG) != 0 ? ID3_HEADER_LENGTH : 0;
+        return Math.min(data.length, ID3_HEADER_LENGTH + size + footer);
+    }
+
+    /**
+     * Parses the frame header at {@code offset}, or returns {@code null} if there is no valid one.
+     * Free-format frames are not supported, since their length cannot be derived from the header.
+     */
+    public static FrameHeader parseHeader(byte[] data, int offset) {
+        if (offset < 0 || offset + HEADER_LENGTH > data.length) {
+            return null;
+        }
+        int b1 = data[offset + 1] & 0xFF;
+        int b2 = data[offset + 2] & 0xFF;
+        if ((data[offset] & 0xFF) != 0xFF || (b1 & 0xE0) != 0xE0) {
+            return null;
+        }
+        int version = (b1 >> 3) & 0x03;
+        int layer = (b1 >> 1) & 0x03;
+        int bitrateIndex = b2 >> 4;
+        int sampleRateIndex = (b2 >> 2) & 0x03;
+        int padding = (b2 >> 1) & 0x01;
+        if (version == 1 || layer == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return null;
+        }
+
+        boolean mpeg1 = version == VERSION_1;
+        int bitrate = BITRATES[mpeg1 ? 0 : 1][LAYER_1 - layer][bitrateIndex] * 1000;
+        int sampleRate = SAMPLE_RATES[version][sampleRateIndex];
+        int length;
+        int samples;
+        if (layer == LAYER_1) {
+            length = (12 * bitrate / sampleRate + padding) * 4;
+            samples = 384;
+        } else if (layer == LAYER_2 || mpeg1) {
+            length = 144 * bitrate / sampleRate + padding;
+            samples = 1152;
+        } else {
+            length = 72 * bitrate / sampleRate + padding;
+            samples = 576;
+        }
+        return new FrameHeader(length, samples, sampleRate);
+    }
+
+    /**
+     * Visits every complete frame in order with its start time. Bytes that are not a frame, such
+     * as junk between frames or a trailing ID3v1 tag, are skipped by searching for the next
+     * header that is followed by another valid header.
+     */
+    public static void forEachFrame(byte[] data, FrameVisitor visitor) {
+        int offset = audioStart(data);
+        // Start times are derived from whole sample counts, so per-frame rounding never accumulates
+        long baseMicros = 0;
+        long samples = 0;
+        int sampleRate = 0;
+        while (offset + HEADER_LENGTH <= data.length) {
+            FrameHeader header = parseHeader(data, offset);
+            if (header == null || offset + header.length() > data.length) {
+                offset = resync(data, offset + 1);
+                continue;
+            }
+            if (header.sampleRate() != sampleRate) {
+                if (sampleRate != 0) {
+                    baseMicros += samples * 1_000_000L / sampleRate;
+                }
+                samples = 0;
+                sampleRate = header.sampleRate();
+            }
+            visitor.visit(offset, header, baseMicros + samples * 1_000_000L / sampleRate);
+            samples += header.samples();
+            offset += header.length();
+        }
+    }
+
+    private static int resync(byte[] data, int from) {
+        for (int offset = from; offset + HEADER_LENGTH <= data.length; offset++) {
+            FrameHeader header = parseHeader(data, offset);
+            if (header != null) {
+                int next = offset + header.length();
+                if (next == data.length || parseHeader(data, next) != null) {
+                    return offset;
+                }
+            }
+        }
+        return data.length;
+    }
+}
@@ -7,6 +7,7 @@ import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.mp3.Mp3Parser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
@@ -14,10 +15,16 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service for extracting metadata from MP3 files using Apache Tika.
  * Handles extraction of title, artist, album, duration, and year.
+ * <p>
+ * Parsing is CPU-bound and Tika synchronizes internally in places, so the number of concurrent
+ * parses is capped by {@code metadata-extraction.max-concurrency} (default: one per CPU). With
+ * virtual threads enabled, excess uploads wait on the semaphore, which unmounts them, instead
+ * of pinning every carrier thread.
  */
 @Service
 @Slf4j
@@ -34,6 +41,13 @@ public class MetadataExtractorService {
     private static final String DEFAULT_DURATION = "00:00";
     private static final int YEAR_LENGTH = 4;
 
+    private final Semaphore parsePermits;
+
+    public MetadataExtractorService(@Value("${metadata-extraction.max-concurrency:0}") int maxConcurrency) {
+        this.parsePermits = new Semaphore(
+                maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors());
+    }
+
     /**
      * Extracts metadata from MP3 binary data.
      *
@@ -58,19 +72,28 @@ public class MetadataExtractorService {
         } catch (IOException | SAXException | TikaException e) {
             log.error("Failed to extract metadata from MP3 file for resource ID: {}", resourceId, e);
             throw new RuntimeException("Failed to extract metadata from MP3 file", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to extract metadata", e);
         }
     }
 
     /**
      * Parses audio data using Apache Tika MP3 parser.
      */
-    private Metadata parseAudioMetadata(byte[] audioData) throws IOException, SAXException, TikaException {
+    private Metadata parseAudioMetadata(byte[] audioData)
+            throws IOException, SAXException, TikaException, InterruptedException {
         Parser parser = new Mp3Parser();
         Metadata metadata = new Metadata();
         ContentHandler handler = new DefaultHandler();
         ParseContext parseContext = new ParseContext();
 
-        parser.parse(new ByteArrayInputStream(audioData), handler, metadata, parseContext);
+        parsePermits.acquire();
+        try {
+            parser.parse(new ByteArrayInputStream(audioData), handler, metadata, parseContext);
+        } finally {
+            parsePermits.release();
+        }
         return metadata;
     }
 
@@ -0,0 +1,111 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.exception.InvalidMp3Exception;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validates uploads and resource IDs.
+ * Shared by the blocking and the reactive Resource Service, so that both reject the same
+ * requests with the same messages.
+ */
+@Service
+public class ResourceValidationService {
+
+    private static final int MAX_CSV_LENGTH = 200;
+    private static final int MIN_MP3_SIZE = 3;
+    private static final byte MP3_SYNC_BYTE = (byte) 0xFF;
+    private static final byte MP3_FRAME_MASK = (byte) 0xE0;
+    private static final byte ID3_TAG_I = 'I';
+    private static final byte ID3_TAG_D = 'D';
+    private static final byte ID3_TAG_3 = '3';
+
+    /**
+     * Validates that the audio data is a valid MP3 file.
+     * Checks for MP3 frame sync or ID3 tag presence.
+     *
+     * @throws InvalidMp3Exception if validation fails
+     */
+    public void validateMp3(byte[] audioData) {
+        if (audioData == null || audioData.length < MIN_MP3_SIZE) {
+            throw new InvalidMp3Exception("Invalid MP3 file: data is null or too small");
+        }
+
+        boolean hasValidMp3Sync = audioData[0] == MP3_SYNC_BYTE &&
+                                  (audioData[1] & MP3_FRAME_MASK) == MP3_FRAME_MASK;
+        boolean hasId3Tag = audioData[0] == ID3_TAG_I &&
+                           audioData[1] == ID3_TAG_D &&
+                           audioData[2] == ID3_TAG_3;
+
+        if (!hasValidMp3Sync && !hasId3Tag) {
+            throw new InvalidMp3Exception("Invalid MP3 file: missing MP3 frame sync or ID3 tag");
+        }
+    }
+
+    /**
+     * Validates that the resource ID is positive and not null.
+     *
+     * @throws IllegalArgumentException if validation fails
+     */
+    public void validateId(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%s' for ID. Must be a positive integer", id)
+            );
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of resource IDs; blank entries are skipped.
+     *
+     * @throws IllegalArgumentException if the CSV string is missing or too long, or an ID is not
+     * a positive integer
+     */
+    public List<Long> parseIds(String ids) {
+        validateCsvLength(ids);
+        return Arrays.stream(ids.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(this::parseAndValidateId)
+                .toList();
+    }
+
+    /**
+     * Parses a string to Long and validates it's a positive integer.
+     * Throws exception if format is invalid.
+     */
+    private Long parseAndValidateId(String idStr) {
+        try {
+            Long id = Long.parseLong(idStr);
+            if (id <= 0) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid ID format: '%s'. Only positive integers are allowed", idStr)
+                );
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid ID format: '%s'. Only positive integers are allowed", idStr)
+            );
+        }
+    }
+
+    /**
+     * Validates the CSV string of IDs.
+     *
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateCsvLength(String ids) {
+        if (ids == null || ids.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID parameter is required");
+        }
+        if (ids.length() >= MAX_CSV_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format("CSV string is too long: received %d characters, maximum allowed is %d",
+                            ids.length(), MAX_CSV_LENGTH)
+            );
+        }
+    }
+}
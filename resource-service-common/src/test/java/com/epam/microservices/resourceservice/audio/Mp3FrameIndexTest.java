@@ -0,0 +1,132 @@
+package com.epam.microservices.resourceservice.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Mp3FrameIndexTest {
+
+    // MPEG-2 Layer III, 8 kbit/s, 22050 Hz, no CRC: 26-byte frames of 576 samples (26122.45 µs each)
+    private static final byte[] FRAME_HEADER = {(byte) 0xFF, (byte) 0xF3, 0x10, 0x00};
+    private static final int FRAME_LENGTH = 26;
+    private static final long SAMPLES_PER_FRAME = 576;
+    private static final long SAMPLE_RATE = 22050;
+
+    @Test
+    void parsesFrameHeader() {
+        Mp3Frames.FrameHeader header = Mp3Frames.parseHeader(frames(1), 0);
+
+        assertThat(header).isEqualTo(new Mp3Frames.FrameHeader(FRAME_LENGTH, 576, 22050));
+        assertThat(Mp3Frames.parseHeader(new byte[]{0x49, 0x44, 0x33, 0x03}, 0)).isNull();
+    }
+
+    @Test
+    void frameTimesDoNotDriftOverAnHour() {
+        int frameCount = 137_813;
+        Mp3FrameIndex index = Mp3FrameIndex.build(frames(frameCount));
+
+        assertThat(index.getDurationMillis()).isEqualTo(frameStartMillis(frameCount));
+
+        Mp3FrameIndex.SeekPoint point = index.seekAtOrAfter(3_599_000);
+        int frame = firstFrameAtOrAfter(3_599_000);
+        assertThat(point).isEqualTo(new Mp3FrameIndex.SeekPoint(frameStartMillis(frame), (long) frame * FRAME_LENGTH));
+    }
+
+    @Test
+    void seeksToTheNearestIndexedFrame() {
+        Mp3FrameIndex index = Mp3FrameIndex.build(frames(400));
+
+        int second = firstFrameAtOrAfter(1000);
+        int third = firstFrameAtOrAfter(2000);
+        assertThat(index.seek(0)).isEqualTo(new Mp3FrameIndex.SeekPoint(0, 0));
+        assertThat(index.seek(1100).offset()).isEqualTo((long) second * FRAME_LENGTH);
+        assertThat(index.seek(1900).offset()).isEqualTo((long) third * FRAME_LENGTH);
+        assertThat(index.seek(60_000).millis()).isEqualTo(frameStartMillis(firstFrameAtOrAfter(10_000)));
+        assertThat(index.seekAtOrAfter(60_000)).isNull();
+    }
+
+    @Test
+    void skipsId3TagAndJunkBetweenFrames() {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        byte[] tag = {'I', 'D', '3', 3, 0, 0, 0, 0, 0, 20};
+        data.writeBytes(tag);
+        data.writeBytes(new byte[20]);
+        data.writeBytes(frames(2));
+        data.writeBytes(new byte[]{0x12, 0x34, 0x56});
+        data.writeBytes(frames(2));
+        byte[] bytes = data.toByteArray();
+
+        Mp3FrameIndex index = Mp3FrameIndex.build(bytes);
+
+        assertThat(Mp3Frames.audioStart(bytes)).isEqualTo(30);
+        assertThat(index.firstFrameOffset()).isEqualTo(30);
+        assertThat(index.getDurationMillis()).isEqualTo(frameStartMillis(4));
+    }
+
+    @Test
+    void encodedIndexRoundTrips() {
+        Mp3FrameIndex index = Mp3FrameIndex.build(frames(10_000));
+
+        byte[] encoded = index.encode();
+        Mp3FrameIndex decoded = Mp3FrameIndex.decode(encoded);
+
+        assertThat(decoded.getDurationMillis()).isEqualTo(index.getDurationMillis());
+        assertThat(decoded.firstFrameOffset()).isEqualTo(index.firstFrameOffset());
+        for (long millis = 0; millis <= index.getDurationMillis(); millis += 250) {
+            assertThat(decoded.seek(millis)).isEqualTo(index.seek(millis));
+        }
+        assertThat(decoded.encode()).isEqualTo(encoded);
+    }
+
+    @Test
+    void decodesMultiByteVarints() {
+        // version 1, one entry, duration 300, then time 0 and offset 2^35
+        byte[] encoded = {1, 1, (byte) 0xAC, 0x02, 0,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+
+        Mp3FrameIndex index = Mp3FrameIndex.decode(encoded);
+
+        assertThat(index.getDurationMillis()).isEqualTo(300);
+        assertThat(index.seek(0)).isEqualTo(new Mp3FrameIndex.SeekPoint(0, 1L << 35));
+        assertThat(index.encode()).isEqualTo(encoded);
+    }
+
+    @Test
+    void decodesMissingIndexAsEmpty() {
+        assertThat(Mp3FrameIndex.decode(null).isEmpty()).isTrue();
+        assertThat(Mp3FrameIndex.decode(new byte[0]).seek(5000)).isEqualTo(new Mp3FrameIndex.SeekPoint(0, 0));
+    }
+
+    @Test
+    void rejectsInvalidEncodings() {
+        assertThatThrownBy(() -> Mp3FrameIndex.decode(new byte[]{2, 0, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Mp3FrameIndex.decode(new byte[]{1, 1, (byte) 0x80}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Mp3FrameIndex.decode(new byte[]{1, 3, 10, 0, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] frames(int count) {
+        byte[] data = new byte[count * FRAME_LENGTH];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(FRAME_HEADER, 0, data, i * FRAME_LENGTH, FRAME_HEADER.length);
+        }
+        return data;
+    }
+
+    private static long frameStartMillis(int frame) {
+        return frame * SAMPLES_PER_FRAME * 1000 / SAMPLE_RATE;
+    }
+
+    private static int firstFrameAtOrAfter(long millis) {
+        int frame = 0;
+        while (frameStartMillis(frame) < millis) {
+            frame++;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,19 @@
+package com.epam.microservices.resourceservice;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+/**
+ * Main application class for the non-blocking Resource Service.
+ * Serves the core resource API of resource-service on WebFlux and R2DBC. It registers with
+ * Eureka as resource-service-reactive and is reached through its own gateway route.
+ */
+@SpringBootApplication
+@EnableDiscoveryClient
+public class ReactiveResourceServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveResourceServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.microservices.resourceservice.config;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Configuration for WebClient with load balancing support.
+ * The @LoadBalanced builder resolves service names through Spring Cloud LoadBalancer
+ * without blocking the calling thread.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
@@ -0,0 +1,66 @@
+package com.epam.microservices.resourceservice.controller;
+
+import com.epam.microservices.resourceservice.dto.DeleteResponse;
+import com.epam.microservices.resourceservice.dto.ResourceIdResponse;
+import com.epam.microservices.resourceservice.service.ContentTypeValidationService;
+import com.epam.microservices.resourceservice.service.ResourceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/resources")
+@RequiredArgsConstructor
+public class ResourceController {
+
+    private final ResourceService resourceService;
+    private final ContentTypeValidationService contentTypeValidationService;
+
+    /**
+     * Uploads carrying an {@code Idempotency-Key} are refused rather than silently stored again
+     * on retry, since this variant does not deduplicate them.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ResourceIdResponse>> uploadResource(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody(required = false) Flux<DataBuffer> audioData) {
+
+        if (idempotencyKey != null) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key is not supported by resource-service-reactive; upload through /api/resources");
+        }
+        contentTypeValidationService.validateAudioMpegContentType(contentType);
+        return resourceService.uploadResource(audioData == null ? Flux.empty() : audioData)
+                .map(id -> ResponseEntity.ok(new ResourceIdResponse(id)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getResource(@PathVariable Long id, ServerHttpResponse response) {
+        return resourceService.getResourceSize(id)
+                .map(size -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("audio/mpeg"))
+                        .contentLength(size)
+                        .body(resourceService.streamResource(id, size, response.bufferFactory())));
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<DeleteResponse>> deleteResources(@RequestParam String id) {
+        return resourceService.deleteResources(id)
+                .map(deletedIds -> ResponseEntity.ok(new DeleteResponse(deletedIds)));
+    }
+}
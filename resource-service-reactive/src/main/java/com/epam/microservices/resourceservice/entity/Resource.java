@@ -0,0 +1,42 @@
+package com.epam.microservices.resourceservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("resources")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Resource {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("data")
+    private byte[] data;
+
+    /**
+     * Encoded {@code Mp3FrameIndex}, used by resource-service to seek and cut previews.
+     */
+    @Column("frame_index")
+    private byte[] frameIndex;
+
+    @Column("size")
+    private Long size;
+
+    @Column("checksum")
+    private String checksum;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    @Column("deleted_at")
+    private Instant deletedAt;
+}
@@ -0,0 +1,32 @@
+package com.epam.microservices.resourceservice.repository;
+
+import com.epam.microservices.resourceservice.entity.Resource;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ResourceRepository extends ReactiveCrudRepository<Resource, Long> {
+
+    /**
+     * Size of the stored file in bytes, empty if the resource does not exist.
+     */
+    @Query("SELECT octet_length(data) FROM resources WHERE id = :id AND deleted_at IS NULL")
+    Mono<Integer> findSizeById(Long id);
+
+    /**
+     * One slice of the stored file; {@code offset} is zero-based. Uncompressed out-of-line values
+     * are sliced by PostgreSQL without reading the whole file.
+     */
+    @Query("SELECT substring(data FROM :offset + 1 FOR :length) FROM resources WHERE id = :id AND deleted_at IS NULL")
+    Mono<byte[]> findChunk(Long id, int offset, int length);
+
+    /**
+     * Tombstones the given live resources in one statement and returns their IDs. Payloads are
+     * removed later by the reclaimer in resource-service.
+     */
+    @Query("UPDATE resources SET deleted_at = now() WHERE id = ANY(:ids) AND deleted_at IS NULL RETURNING id")
+    Flux<Long> tombstoneAllById(Long[] ids);
+}
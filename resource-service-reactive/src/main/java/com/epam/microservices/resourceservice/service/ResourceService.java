@@ -0,0 +1,186 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.audio.Mp3FrameIndex;
+import com.epam.microservices.resourceservice.entity.Resource;
+import com.epam.microservices.resourceservice.exception.InvalidMp3Exception;
+import com.epam.microservices.resourceservice.exception.ResourceNotFoundException;
+import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking service for managing MP3 resources.
+ * Handles upload, retrieval, and deletion of audio resources with metadata synchronization.
+ * <p>
+ * No method blocks the calling event-loop thread: database access goes through R2DBC, Song
+ * Service through {@code WebClient}, and Tika parsing, the only blocking work, is moved to
+ * the bounded elastic scheduler. Uploads store the same frame index as resource-service, so
+ * resources uploaded here can be seeked and previewed there.
+ */
+@Service
+@Slf4j
+public class ResourceService {
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceValidationService validationService;
+    private final MetadataExtractorService metadataExtractorService;
+    private final SongServiceClient songServiceClient;
+    private final int maxUploadBytes;
+    private final int downloadChunkBytes;
+
+    public ResourceService(ResourceRepository resourceRepository,
+                           ResourceValidationService validationService,
+                           MetadataExtractorService metadataExtractorService,
+                           SongServiceClient songServiceClient,
+                           @Value("${resource.max-upload-size:50MB}") DataSize maxUploadSize,
+                           @Value("${resource.download-chunk-size:256KB}") DataSize downloadChunkSize) {
+        this.resourceRepository = resourceRepository;
+        this.validationService = validationService;
+        this.metadataExtractorService = metadataExtractorService;
+        this.songServiceClient = songServiceClient;
+        this.maxUploadBytes = Math.toIntExact(maxUploadSize.toBytes());
+        this.downloadChunkBytes = Math.toIntExact(downloadChunkSize.toBytes());
+    }
+
+    /**
+     * Uploads a new MP3 resource, extracts metadata, and syncs with Song Service.
+     * The body is collected as it arrives, so a slow client holds buffers rather than a thread.
+     *
+     * @param body the MP3 binary data as it is received
+     * @return the ID of the created resource; fails with {@link InvalidMp3Exception} if the
+     * audio data is not a valid MP3, or with a {@code DataBufferLimitException} if it exceeds
+     * {@code resource.max-upload-size}
+     */
+    public Mono<Long> uploadResource(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body, maxUploadBytes)
+                .map(ResourceService::toByteArray)
+                .defaultIfEmpty(new byte[0])
+                .doOnNext(validationService::validateMp3)
+                // Indexing frames and hashing large files is CPU work, keep it off the event loop
+                .publishOn(Schedulers.parallel())
+                .map(audioData -> new Resource(null, audioData, Mp3FrameIndex.build(audioData).encode(),
+                        (long) audioData.length, sha256Hex(audioData), Instant.now(), null))
+                .flatMap(newResource -> resourceRepository.save(newResource)
+                        .doOnNext(resource -> log.info("Resource saved with ID: {}", resource.getId()))
+                        .flatMap(resource -> extractAndSaveMetadata(resource.getId(), resource.getData())
+                                .thenReturn(resource.getId())));
+    }
+
+    /**
+     * Extracts metadata and attempts to save it to Song Service.
+     * Logs errors but doesn't fail the resource creation.
+     */
+    private Mono<Void> extractAndSaveMetadata(Long resourceId, byte[] audioData) {
+        return Mono.fromCallable(() -> metadataExtractorService.extractMetadata(resourceId, audioData))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(songServiceClient::saveSongMetadata)
+                .onErrorResume(e -> {
+                    log.error("Failed to extract or save metadata for resource ID: {}. " +
+                            "Resource was created but metadata is missing.", resourceId, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Returns the size of a resource, failing with {@link ResourceNotFoundException} if it doesn't exist.
+     *
+     * @param id the resource ID
+     * @throws IllegalArgumentException if the ID is invalid
+     */
+    public Mono<Integer> getResourceSize(Long id) {
+        validationService.validateId(id);
+        return resourceRepository.findSizeById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        String.format("Resource with ID=%d not found", id)
+                )));
+    }
+
+    /**
+     * Streams the binary MP3 data of a resource in chunks of {@code resource.download-chunk-size}.
+     * <p>
+     * The next chunk is only read once the previous one has been written, so a slow client holds at
+     * most one chunk in memory and no database connection between chunks. If the resource is
+     * deleted mid-download the stream fails and the connection is closed.
+     *
+     * @param id   the resource ID
+     * @param size the size returned by {@link #getResourceSize(Long)}
+     */
+    public Flux<DataBuffer> streamResource(Long id, int size, DataBufferFactory bufferFactory) {
+        int chunks = (size + downloadChunkBytes - 1) / downloadChunkBytes;
+        return Flux.range(0, chunks)
+                .concatMap(chunk -> resourceRepository.findChunk(id, chunk * downloadChunkBytes, downloadChunkBytes)
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                                String.format("Resource with ID=%d was deleted during download", id)
+                        ))), 1)
+                .map(bufferFactory::wrap);
+    }
+
+    /**
+     * Deletes resources by their IDs and triggers cascading deletion in Song Service.
+     * Invalid IDs and non-existent resources are silently ignored.
+     *
+     * @param ids comma-separated list of resource IDs
+     * @return list of successfully deleted resource IDs
+     * @throws IllegalArgumentException if the CSV string is invalid or too long
+     */
+    public Mono<List<Long>> deleteResources(String ids) {
+        List<Long> idsToDelete = validationService.parseIds(ids);
+        return resourceRepository.tombstoneAllById(idsToDelete.toArray(Long[]::new))
+                .collect(Collectors.toSet())
+                .map(deleted -> inRequestOrder(idsToDelete, deleted))
+                .flatMap(deletedIds -> {
+                    log.info("Deleted {} resources out of {} requested", deletedIds.size(), idsToDelete.size());
+                    return deletedIds.isEmpty()
+                            ? Mono.just(deletedIds)
+                            : syncMetadataDeletion(deletedIds).thenReturn(deletedIds);
+                });
+    }
+
+    private static List<Long> inRequestOrder(List<Long> requested, Set<Long> deleted) {
+        return requested.stream().distinct().filter(deleted::contains).toList();
+    }
+
+    /**
+     * Requests metadata deletion from Song Service.
+     */
+    private Mono<Void> syncMetadataDeletion(List<Long> deletedIds) {
+        String deletedIdsStr = deletedIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return songServiceClient.deleteSongMetadata(deletedIdsStr);
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] toByteArray(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.dto.SongIdResponse;
+import com.epam.microservices.resourceservice.dto.SongMetadataDto;
+import com.epam.microservices.resourceservice.exception.SongServiceCommunicationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for the Song Service.
+ * Handles metadata creation and deletion operations.
+ * Uses Eureka service discovery and client-side load balancing.
+ */
+@Service
+@Slf4j
+public class SongServiceClient {
+
+    private static final String SONGS_ENDPOINT = "/songs";
+    private static final String ID_PARAM = "id";
+
+    private final WebClient webClient;
+
+    public SongServiceClient(WebClient.Builder loadBalancedWebClientBuilder,
+                             @Value("${song-service.name}") String songServiceName) {
+        // Use service name instead of hardcoded URL for load balancing
+        this.webClient = loadBalancedWebClientBuilder.baseUrl("http://" + songServiceName).build();
+    }
+
+    /**
+     * Sends song metadata to Song Service for creation.
+     *
+     * @param metadata the song metadata to save
+     * @return completes when Song Service has accepted the metadata; fails with
+     * {@link SongServiceCommunicationException} if communication fails
+     */
+    public Mono<Void> saveSongMetadata(SongMetadataDto metadata) {
+        log.debug("Sending metadata to Song Service for resource ID: {}", metadata.getId());
+        return webClient.post()
+                .uri(SONGS_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(metadata)
+                .retrieve()
+                .bodyToMono(SongIdResponse.class)
+                .doOnNext(response -> log.info("Successfully saved metadata for resource ID: {}", metadata.getId()))
+                .onErrorMap(e -> {
+                    String errorMessage = String.format(
+                            "Failed to save metadata to Song Service for resource ID: %d",
+                            metadata.getId()
+                    );
+                    log.error(errorMessage, e);
+                    return new SongServiceCommunicationException(errorMessage, e);
+                })
+                .then();
+    }
+
+    /**
+     * Requests Song Service to delete metadata for given IDs.
+     * Logs but does not propagate errors to prevent cascading failures.
+     *
+     * @param ids comma-separated list of metadata IDs to delete
+     */
+    public Mono<Void> deleteSongMetadata(String ids) {
+        log.debug("Requesting metadata deletion from Song Service for IDs: {}", ids);
+        return webClient.delete()
+                .uri(uriBuilder -> uriBuilder.path(SONGS_ENDPOINT).queryParam(ID_PARAM, ids).build())
+                .retrieve()
+                .toBodilessEntity()
+                .doOnNext(response -> log.info("Successfully requested deletion of metadata for IDs: {}", ids))
+                .onErrorResume(e -> {
+                    log.error("Failed to delete metadata from Song Service for IDs: {}. " +
+                            "This may result in orphaned metadata records.", ids, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,99 @@
+package com.epam.microservices.resourceservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to read replicas when {@code read-replicas.enabled} is set.
+ * <p>
+ * The application's {@link DataSource} becomes a {@link LazyConnectionDataSourceProxy} over the
+ * primary pool. Connections are only fetched at the first statement, after the transaction
+ * manager has marked them read-only, so {@code @Transactional(readOnly = true)} work is served
+ * by {@link ReplicaDataSource} and everything else by the primary.
+ * <p>
+ * Not applied when sharding is enabled; each shard is then a single primary.
+ */
+@Configuration
+@ConditionalOnExpression("${read-replicas.enabled:false} and !${sharding.enabled:false}")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                               DataSourceProperties dataSourceProperties,
+                                               ReadReplicaProperties replicaProperties,
+                                               MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Target target : replicaProperties.getTargets()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.getDriverClassName())
+                    .url(target.getUrl())
+                    .username(target.getUsername())
+                    .password(target.getPassword())
+                    .build();
+            replica.setPoolName(target.getName());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(target.getName(), replica);
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, replicaProperties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService replicaHealthCheckExecutor(ReplicaDataSource replicaDataSource,
+                                                               ReadReplicaProperties replicaProperties) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = replicaProperties.getHealthCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(replicaDataSource::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    /**
+     * Reports per-replica lag and availability. Always UP, because reads fall back to the primary.
+     */
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReplicaDataSource replicaDataSource) {
+        return () -> Health.up().withDetails(replicaDataSource.describeReplicas()).build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.epam.microservices.resourceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica targets for read-only transactions, bound from {@code read-replicas.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    /**
+     * Replicas lagging further behind the primary than this stop receiving reads until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private int maximumPoolSize = 10;
+
+    private List<Target> targets = new ArrayList<>();
+
+    @Data
+    public static class Target {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
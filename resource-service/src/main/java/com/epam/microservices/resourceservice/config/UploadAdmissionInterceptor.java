@@ -0,0 +1,39 @@
+package com.epam.microservices.resourceservice.config;
+
+import com.epam.microservices.resourceservice.service.UploadAdmissionController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Reserves upload budget before the request body is read, and returns it once the response
+ * has completed, whatever the outcome.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String RESERVED_ATTRIBUTE = UploadAdmissionInterceptor.class.getName() + ".reserved";
+
+    private final UploadAdmissionController admissionController;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            int reserved = admissionController.admit(request.getContentLengthLong());
+            request.setAttribute(RESERVED_ATTRIBUTE, reserved);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(RESERVED_ATTRIBUTE) instanceof Integer reserved) {
+            request.removeAttribute(RESERVED_ATTRIBUTE);
+            admissionController.release(reserved);
+        }
+    }
+}
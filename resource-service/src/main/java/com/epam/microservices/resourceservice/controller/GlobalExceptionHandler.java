@@ -1,10 +1,14 @@
 package com.epam.microservices.resourceservice.controller;
 
+import com.epam.microservices.resourceservice.exception.IdempotencyKeyMismatchException;
+import com.epam.microservices.resourceservice.exception.IdempotentRequestInProgressException;
 import com.epam.microservices.resourceservice.exception.InvalidContentTypeException;
 import com.epam.microservices.resourceservice.exception.InvalidMp3Exception;
 import com.epam.microservices.resourceservice.exception.ResourceNotFoundException;
 import com.epam.microservices.resourceservice.exception.SongServiceCommunicationException;
+import com.epam.microservices.resourceservice.exception.UploadCapacityExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,7 +26,10 @@ public class GlobalExceptionHandler {
     private static final String ERROR_CODE = "errorCode";
     private static final String HTTP_CODE_400 = "400";
     private static final String HTTP_CODE_404 = "404";
+    private static final String HTTP_CODE_409 = "409";
+    private static final String HTTP_CODE_422 = "422";
     private static final String HTTP_CODE_500 = "500";
+    private static final String HTTP_CODE_503 = "503";
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleResourceNotFoundException(ResourceNotFoundException ex) {
@@ -81,6 +88,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleUploadCapacityExceededException(UploadCapacityExceededException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put(ERROR_MESSAGE, ex.getMessage());
+        error.put(ERROR_CODE, HTTP_CODE_503);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put(ERROR_MESSAGE, ex.getMessage());
+        error.put(ERROR_CODE, HTTP_CODE_422);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotentRequestInProgressException(
+            IdempotentRequestInProgressException ex) {
+        log.warn("Duplicate upload still in progress: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put(ERROR_MESSAGE, ex.getMessage());
+        error.put(ERROR_CODE, HTTP_CODE_409);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralException(Exception ex) {
         log.error("Internal server error", ex);
@@ -1,8 +1,12 @@
 package com.epam.microservices.resourceservice.controller;
 
+import com.epam.microservices.resourceservice.dto.AudioSegment;
 import com.epam.microservices.resourceservice.dto.DeleteResponse;
 import com.epam.microservices.resourceservice.dto.ResourceIdResponse;
 import com.epam.microservices.resourceservice.service.ContentTypeValidationService;
+import com.epam.microservices.resourceservice.service.IdempotencyStore;
+import com.epam.microservices.resourceservice.service.PreviewService;
+import com.epam.microservices.resourceservice.service.ResourceInventoryService;
 import com.epam.microservices.resourceservice.service.ResourceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -17,8 +21,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/resources")
@@ -27,22 +33,71 @@ public class ResourceController {
 
     private final ResourceService resourceService;
     private final ContentTypeValidationService contentTypeValidationService;
+    private final ResourceInventoryService resourceInventoryService;
+    private final PreviewService previewService;
+    private final IdempotencyStore idempotencyStore;
 
+    /**
+     * With an {@code Idempotency-Key}, a retried upload returns the ID from the first attempt
+     * instead of storing the file again; {@code Idempotent-Replayed} marks such responses.
+     */
     @PostMapping
     public ResponseEntity<ResourceIdResponse> uploadResource(
             @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody byte[] audioData) {
         
         contentTypeValidationService.validateAudioMpegContentType(contentType);
-        Long id = resourceService.uploadResource(audioData);
-        return ResponseEntity.ok(new ResourceIdResponse(id));
+        if (idempotencyKey == null) {
+            Long id = resourceService.uploadResource(audioData);
+            return ResponseEntity.ok(new ResourceIdResponse(id));
+        }
+        IdempotencyStore.Outcome outcome = idempotencyStore.execute(idempotencyKey, audioData,
+                () -> resourceService.uploadResource(audioData));
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+                .body(new ResourceIdResponse(outcome.resourceId()));
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<StreamingResponseBody> getInventory(@RequestParam(required = false) Long after) {
+        resourceInventoryService.validate(after);
+        StreamingResponseBody body = outputStream -> resourceInventoryService.writeInventory(after, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
+    /**
+     * Returns the whole file, or with {@code t} the audio from the indexed frame boundary nearest
+     * to that many seconds. {@code X-Start-Time} then tells the player where the audio starts.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<byte[]> getResource(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getResource(@PathVariable Long id, @RequestParam(required = false) Double t) {
+        if (t == null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("audio/mpeg"))
+                    .body(resourceService.getResource(id));
+        }
+        AudioSegment segment = resourceService.getResourceFrom(id, t);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("audio/mpeg"))
+                .header("X-Start-Time", String.format(Locale.ROOT, "%.3f", segment.getStartMillis() / 1000.0))
+                .body(segment.getData());
+    }
+
+    /**
+     * Returns a clip of about {@code duration} seconds from {@code start}, cut on frame boundaries.
+     */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<byte[]> getPreview(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "0") double start,
+                                             @RequestParam(defaultValue = "30") double duration) {
+        AudioSegment clip = previewService.getPreview(id, start, duration);
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType("audio/mpeg"))
-                .body(resourceService.getResource(id));
+                .header("X-Start-Time", String.format(Locale.ROOT, "%.3f", clip.getStartMillis() / 1000.0))
+                .body(clip.getData());
     }
 
     @DeleteMapping
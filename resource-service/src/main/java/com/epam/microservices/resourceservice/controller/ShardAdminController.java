@@ -0,0 +1,39 @@
+package com.epam.microservices.resourceservice.controller;
+
+import com.epam.microservices.resourceservice.dto.BucketMigration;
+import com.epam.microservices.resourceservice.dto.ShardStatusResponse;
+import com.epam.microservices.resourceservice.sharding.ShardDirectory;
+import com.epam.microservices.resourceservice.sharding.ShardRebalancer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operator endpoints for inspecting shard ownership and moving buckets between shards.
+ * Only registered when sharding is enabled; not routed through the API gateway.
+ */
+@RestController
+@RequestMapping("/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+
+    @GetMapping
+    public ResponseEntity<ShardStatusResponse> getStatus() {
+        return ResponseEntity.ok(new ShardStatusResponse(shardDirectory.bucketCounts(), shardRebalancer.migrations()));
+    }
+
+    @PostMapping("/buckets/{bucket}/move")
+    public ResponseEntity<BucketMigration> moveBucket(@PathVariable int bucket, @RequestParam String target) {
+        return ResponseEntity.accepted().body(shardRebalancer.moveBucket(bucket, target));
+    }
+}
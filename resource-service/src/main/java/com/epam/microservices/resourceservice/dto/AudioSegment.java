@@ -0,0 +1,13 @@
+package com.epam.microservices.resourceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AudioSegment {
+    private byte[] data;
+    private long startMillis;
+}
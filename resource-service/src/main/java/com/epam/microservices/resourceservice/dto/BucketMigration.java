@@ -0,0 +1,16 @@
+package com.epam.microservices.resourceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BucketMigration {
+    private int bucket;
+    private String source;
+    private String target;
+    private volatile String state;
+    private volatile long copiedRows;
+}
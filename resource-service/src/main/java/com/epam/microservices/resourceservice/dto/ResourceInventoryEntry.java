@@ -0,0 +1,17 @@
+package com.epam.microservices.resourceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceInventoryEntry {
+    private Long id;
+    private Long size;
+    private String checksum;
+    private Instant createdAt;
+}
@@ -0,0 +1,16 @@
+package com.epam.microservices.resourceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardStatusResponse {
+    private Map<String, Integer> bucketsPerShard;
+    private List<BucketMigration> migrations;
+}
@@ -2,26 +2,35 @@ package com.epam.microservices.resourceservice.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
+import java.time.Instant;
+
+/**
+ * IDs are assigned by {@code ShardRouter} before saving, so new entities report themselves
+ * as new until persisted or loaded.
+ */
 @Entity
 @Table(name = "resources")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Resource {
+public class Resource implements Persistable<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
 
@@ -29,6 +38,48 @@ public class Resource {
     @Column(name = "data")
     @JdbcTypeCode(SqlTypes.VARBINARY)
     private byte[] data;
-}
 
+    /**
+     * Encoded {@code Mp3FrameIndex}; {@code null} for resources uploaded before indexing existed.
+     */
+    @Column(name = "frame_index")
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    private byte[] frameIndex;
+
+    /**
+     * Payload size in bytes, stored so that inventories never read the payload.
+     */
+    @Column(name = "size")
+    private Long size;
+
+    /**
+     * Hex-encoded SHA-256 of the payload.
+     */
+    @Column(name = "checksum")
+    private String checksum;
 
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    /**
+     * Set when the resource is deleted; the row is physically removed later by {@code ResourceReclaimer}.
+     */
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
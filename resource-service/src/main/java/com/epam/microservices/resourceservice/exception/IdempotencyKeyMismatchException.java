@@ -0,0 +1,7 @@
+package com.epam.microservices.resourceservice.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.epam.microservices.resourceservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UploadCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public UploadCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -4,8 +4,13 @@ import com.epam.microservices.resourceservice.entity.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
-}
+import java.util.Optional;
 
+@Repository
+public interface ResourceRepository extends JpaRepository<Resource, Long>, ResourceRepositoryCustom {
 
+    /**
+     * Finds a resource unless it has been deleted; tombstoned rows keep their payload until reclaimed.
+     */
+    Optional<Resource> findByIdAndDeletedAtIsNull(Long id);
+}
@@ -0,0 +1,67 @@
+package com.epam.microservices.resourceservice.repository;
+
+import com.epam.microservices.resourceservice.dto.ResourceInventoryEntry;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query fragment for {@link ResourceRepository} with operations that are issued as plain JDBC
+ * rather than through the entity manager, so that they never load the payload column.
+ */
+public interface ResourceRepositoryCustom {
+
+    /**
+     * Returns the encoded frame index of a live resource, empty if the resource does not exist.
+     * A resource without an index yields an empty array.
+     */
+    Optional<byte[]> findFrameIndex(long id);
+
+    /**
+     * Returns the payload of a live resource from {@code offset} to the end, or {@code null} if it
+     * does not exist. Since payloads are stored uncompressed, only the TOAST chunks covering the
+     * requested range are read.
+     */
+    byte[] findPayloadFrom(long id, long offset);
+
+    /**
+     * Returns the first {@code headerLength} bytes of a live resource's payload followed by
+     * {@code length} bytes starting at {@code offset}, or {@code null} if it does not exist.
+     * Both parts are cut in the database, so only the TOAST chunks they cover are read.
+     */
+    byte[] findPayloadParts(long id, long headerLength, long offset, long length);
+
+    /**
+     * Returns up to {@code limit} live resources with an ID greater than {@code afterId}, in ID
+     * order. Only the stored size and checksum are read, never the payload.
+     */
+    List<ResourceInventoryEntry> findInventoryPage(long afterId, int limit);
+
+    /**
+     * Marks the given live resources as deleted in a single statement and returns the IDs that
+     * were live. The payload stays in place until {@link #reclaimTombstones(int)} removes it.
+     */
+    List<Long> tombstoneAllById(Collection<Long> ids);
+
+    /**
+     * Physically deletes up to {@code limit} tombstoned rows, oldest first. Rows locked by a
+     * concurrent reclaimer are skipped.
+     */
+    ReclaimedBatch reclaimTombstones(int limit);
+
+    /**
+     * Counts tombstoned rows that are still waiting to be reclaimed.
+     */
+    TombstoneBacklog tombstoneBacklog();
+
+    record ReclaimedBatch(int rows, long bytes) {
+    }
+
+    /**
+     * @param oldestDeletedAt deletion time of the oldest waiting row, {@code null} if none
+     */
+    record TombstoneBacklog(long rows, Instant oldestDeletedAt) {
+    }
+}
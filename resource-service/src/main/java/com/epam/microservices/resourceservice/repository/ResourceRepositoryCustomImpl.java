@@ -0,0 +1,114 @@
+package com.epam.microservices.resourceservice.repository;
+
+import com.epam.microservices.resourceservice.dto.ResourceInventoryEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ResourceRepositoryCustomImpl implements ResourceRepositoryCustom {
+
+    private static final String INVENTORY_PAGE = """
+            SELECT id, size, checksum, created_at FROM resources
+            WHERE id > ? AND deleted_at IS NULL
+            ORDER BY id LIMIT ?
+            """;
+
+    private static final RowMapper<ResourceInventoryEntry> INVENTORY_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ResourceInventoryEntry(
+                rs.getLong("id"),
+                rs.getLong("size"),
+                rs.getString("checksum"),
+                createdAt != null ? createdAt.toInstant() : null
+        );
+    };
+
+    // Keeps the TOAST pointer of the payload, so tombstoning does not rewrite the file
+    private static final String TOMBSTONE = """
+            UPDATE resources SET deleted_at = now()
+            WHERE id = ANY(?) AND deleted_at IS NULL
+            RETURNING id
+            """;
+
+    // octet_length reads the size from the TOAST pointer without fetching the payload
+    private static final String RECLAIM = """
+            DELETE FROM resources
+            WHERE id IN (SELECT id FROM resources WHERE deleted_at IS NOT NULL
+                         ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING coalesce(octet_length(data), 0)
+            """;
+
+    private static final String BACKLOG =
+            "SELECT count(*) AS row_count, min(deleted_at) AS oldest FROM resources WHERE deleted_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<byte[]> findFrameIndex(long id) {
+        List<byte[]> indexes = jdbcTemplate.query(
+                "SELECT coalesce(frame_index, ''::bytea) FROM resources WHERE id = ? AND deleted_at IS NULL",
+                (rs, rowNum) -> rs.getBytes(1),
+                id);
+        return indexes.stream().findFirst();
+    }
+
+    @Override
+    public byte[] findPayloadFrom(long id, long offset) {
+        List<byte[]> payloads = jdbcTemplate.query(
+                "SELECT substring(data FROM ?) FROM resources WHERE id = ? AND deleted_at IS NULL",
+                (rs, rowNum) -> rs.getBytes(1),
+                Math.toIntExact(offset + 1), id);
+        return payloads.isEmpty() ? null : payloads.get(0);
+    }
+
+    @Override
+    public byte[] findPayloadParts(long id, long headerLength, long offset, long length) {
+        List<byte[]> payloads = jdbcTemplate.query(
+                "SELECT substring(data FROM 1 FOR ?) || substring(data FROM ? FOR ?) " +
+                        "FROM resources WHERE id = ? AND deleted_at IS NULL",
+                (rs, rowNum) -> rs.getBytes(1),
+                Math.toIntExact(headerLength), Math.toIntExact(offset + 1), Math.toIntExact(length), id);
+        return payloads.isEmpty() ? null : payloads.get(0);
+    }
+
+    @Override
+    public List<ResourceInventoryEntry> findInventoryPage(long afterId, int limit) {
+        return jdbcTemplate.query(INVENTORY_PAGE, INVENTORY_ROW_MAPPER, afterId, limit);
+    }
+
+    @Override
+    public List<Long> tombstoneAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                TOMBSTONE,
+                ps -> {
+                    Array idArray = ps.getConnection().createArrayOf("bigint", ids.toArray());
+                    ps.setArray(1, idArray);
+                },
+                (rs, rowNum) -> rs.getLong(1)
+        );
+    }
+
+    @Override
+    public ReclaimedBatch reclaimTombstones(int limit) {
+        List<Long> sizes = jdbcTemplate.query(RECLAIM, (rs, rowNum) -> rs.getLong(1), limit);
+        return new ReclaimedBatch(sizes.size(), sizes.stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Override
+    public TombstoneBacklog tombstoneBacklog() {
+        return jdbcTemplate.queryForObject(BACKLOG, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            return new TombstoneBacklog(rs.getLong("row_count"), oldest != null ? oldest.toInstant() : null);
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.exception.IdempotencyKeyMismatchException;
+import com.epam.microservices.resourceservice.exception.IdempotentRequestInProgressException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of uploads sent with an {@code Idempotency-Key}, so that retries of the
+ * same upload are answered without storing the file, parsing it and syncing its metadata again.
+ * <p>
+ * The first request with a key runs the upload and records the resulting ID for
+ * {@code idempotency.ttl}. A duplicate that arrives while the upload is still running waits for
+ * it, up to {@code idempotency.max-wait}, and gets the same ID. A later duplicate gets the
+ * stored ID straight away. Duplicates must carry the same payload as the original, compared by
+ * SHA-256; reusing a key for a different file is rejected. A failed upload is forgotten, so a
+ * retry runs it again, and any duplicates waiting on it fail the same way.
+ * <p>
+ * At most {@code idempotency.max-entries} keys are kept in memory. When the store is full,
+ * the oldest completed keys are dropped first. Keys are per instance: a retry routed to
+ * another instance runs the upload again.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    /**
+     * The resource ID for an upload, and whether it came from an earlier request with the same key.
+     */
+    public record Outcome(Long resourceId, boolean replayed) {
+    }
+
+    private final Duration ttl;
+    private final Duration maxWait;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+
+    public IdempotencyStore(@Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.max-wait:30s}") Duration maxWait,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.maxWait = maxWait;
+        this.maxEntries = maxEntries;
+        this.executed = Counter.builder("resources.idempotency.requests").tag("result", "executed").register(meterRegistry);
+        this.replayed = Counter.builder("resources.idempotency.requests").tag("result", "replayed").register(meterRegistry);
+        this.mismatched = Counter.builder("resources.idempotency.requests").tag("result", "mismatch").register(meterRegistry);
+        Gauge.builder("resources.idempotency.keys", this, IdempotencyStore::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code upload} unless an upload with the same key has already succeeded or is in progress.
+     */
+    public Outcome execute(String key, byte[] payload, Supplier<Long> upload) {
+        validateKey(key);
+        byte[] fingerprint = sha256(payload);
+
+        Entry entry = new Entry(fingerprint);
+        Entry existing;
+        lock.lock();
+        try {
+            existing = entries.get(key);
+            if (existing != null && existing.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(key, entry);
+                evictIfFull();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (existing != null) {
+            return awaitExisting(key, existing, fingerprint);
+        }
+
+        executed.increment();
+        try {
+            Long resourceId = upload.get();
+            entry.complete(resourceId, System.nanoTime() + ttl.toNanos());
+            return new Outcome(resourceId, false);
+        } catch (RuntimeException | Error e) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Outcome awaitExisting(String key, Entry existing, byte[] fingerprint) {
+        if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+            mismatched.increment();
+            throw new IdempotencyKeyMismatchException(String.format(
+                    "Idempotency-Key '%s' was already used for a different payload", key));
+        }
+        try {
+            Long resourceId = existing.result.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            replayed.increment();
+            log.info("Replaying upload for Idempotency-Key '{}': resource ID {}", key, resourceId);
+            return new Outcome(resourceId, true);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException(String.format(
+                    "An upload with Idempotency-Key '%s' is still in progress", key), maxWait.toSeconds());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(String.format(
+                    "An upload with Idempotency-Key '%s' is still in progress", key), maxWait.toSeconds());
+        }
+    }
+
+    /**
+     * Drops expired keys, then the oldest completed ones, until the store is back within bounds.
+     * Keys still in progress are never dropped, since requests may be waiting on them.
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            if (eldest.next().result.isDone()) {
+                eldest.remove();
+            }
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and 255 characters");
+        }
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final byte[] fingerprint;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        // Set once the upload has succeeded; in-progress entries never expire
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private void complete(Long resourceId, long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+            result.complete(resourceId);
+        }
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos > 0;
+        }
+    }
+}
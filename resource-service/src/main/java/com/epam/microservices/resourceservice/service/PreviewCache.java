@@ -0,0 +1,104 @@
+package com.epam.microservices.resourceservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory LRU cache of generated preview clips, bounded by total size in bytes
+ * ({@code preview.cache.max-size}). Clips larger than a quarter of the budget are not cached.
+ * <p>
+ * Entries are keyed by the byte range they were cut from. Callers look up the frame index
+ * first, which also confirms the resource still exists, so a clip deleted through another
+ * instance is never served from here.
+ */
+@Component
+public class PreviewCache {
+
+    /**
+     * A clip of one resource: the ID3 header plus the frames in {@code [startOffset, endOffset)}.
+     */
+    public record Key(long resourceId, long startOffset, long endOffset) {
+    }
+
+    private final long maxBytes;
+    private final Map<Key, byte[]> clips = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PreviewCache(@Value("${preview.cache.max-size:64MB}") DataSize maxSize, MeterRegistry meterRegistry) {
+        this.maxBytes = maxSize.toBytes();
+        this.hits = Counter.builder("resources.preview.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("resources.preview.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("resources.preview.cache.size", this, PreviewCache::size)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public byte[] get(Key key) {
+        lock.lock();
+        try {
+            byte[] clip = clips.get(key);
+            (clip != null ? hits : misses).increment();
+            return clip;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Key key, byte[] clip) {
+        if (clip.length > maxBytes / 4) {
+            return;
+        }
+        lock.lock();
+        try {
+            byte[] previous = clips.put(key, clip);
+            totalBytes += clip.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> eldest = clips.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(Collection<Long> resourceIds) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Key, byte[]>> entries = clips.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Key, byte[]> entry = entries.next();
+                if (resourceIds.contains(entry.getKey().resourceId())) {
+                    totalBytes -= entry.getValue().length;
+                    entries.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long size() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.audio.Mp3FrameIndex;
+import com.epam.microservices.resourceservice.dto.AudioSegment;
+import com.epam.microservices.resourceservice.exception.ResourceNotFoundException;
+import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import com.epam.microservices.resourceservice.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Generates short preview clips of resources by cutting on MPEG frame boundaries, without decoding.
+ * <p>
+ * A clip is the file's ID3v2 tag followed by the frames from the indexed boundary nearest to
+ * the requested start up to the first indexed boundary at or after its end. With a frame
+ * index both parts are cut by the database, so only the clip's bytes are read. Clips are kept
+ * in {@link PreviewCache}.
+ */
+@Service
+public class PreviewService {
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceValidationService validationService;
+    private final ShardRouter shardRouter;
+    private final PreviewCache previewCache;
+    private final long maxDurationMillis;
+
+    public PreviewService(ResourceRepository resourceRepository,
+                          ResourceValidationService validationService,
+                          ShardRouter shardRouter,
+                          PreviewCache previewCache,
+                          @Value("${preview.max-duration:60s}") Duration maxDuration) {
+        this.resourceRepository = resourceRepository;
+        this.validationService = validationService;
+        this.shardRouter = shardRouter;
+        this.previewCache = previewCache;
+        this.maxDurationMillis = maxDuration.toMillis();
+    }
+
+    /**
+     * Returns a preview clip of a resource.
+     *
+     * @param id              the resource ID
+     * @param startSeconds    play time the clip should start at
+     * @param durationSeconds length of the clip
+     * @return the clip and the play time it actually starts at
+     * @throws IllegalArgumentException if a parameter is invalid or the start is past the end of the track
+     * @throws ResourceNotFoundException if the resource doesn't exist
+     */
+    public AudioSegment getPreview(Long id, double startSeconds, double durationSeconds) {
+        validationService.validateId(id);
+        if (!(startSeconds >= 0) || Double.isInfinite(startSeconds)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%s' for start. Must be a non-negative number of seconds", startSeconds)
+            );
+        }
+        long startMillis = (long) (startSeconds * 1000);
+        long durationMillis = (long) (durationSeconds * 1000);
+        if (!(durationSeconds > 0) || durationMillis > maxDurationMillis) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid value '%s' for duration. Must be positive and at most %d seconds",
+                    durationSeconds, maxDurationMillis / 1000));
+        }
+
+        for (String shard : shardRouter.readShards(id)) {
+            AudioSegment clip = shardRouter.inShard(shard, true, () -> resourceRepository.findFrameIndex(id)
+                    .map(encoded -> cut(id, Mp3FrameIndex.decode(encoded), startMillis, durationMillis))
+                    .orElse(null));
+            if (clip != null) {
+                return clip;
+            }
+        }
+        throw new ResourceNotFoundException(String.format("Resource with ID=%d not found", id));
+    }
+
+    private AudioSegment cut(Long id, Mp3FrameIndex index, long startMillis, long durationMillis) {
+        if (index.isEmpty()) {
+            return cutWithoutIndex(id, startMillis, durationMillis);
+        }
+        checkStart(index, startMillis);
+
+        Mp3FrameIndex.SeekPoint start = index.seek(startMillis);
+        Mp3FrameIndex.SeekPoint end = index.seekAtOrAfter(start.millis() + durationMillis);
+        long endOffset = end != null ? end.offset() : Long.MAX_VALUE;
+        PreviewCache.Key key = new PreviewCache.Key(id, start.offset(), endOffset);
+
+        byte[] clip = previewCache.get(key);
+        if (clip == null) {
+            long length = end != null ? end.offset() - start.offset() : Integer.MAX_VALUE;
+            clip = resourceRepository.findPayloadParts(id, index.firstFrameOffset(), start.offset(), length);
+            if (clip == null) {
+                return null;
+            }
+            previewCache.put(key, clip);
+        }
+        return new AudioSegment(clip, start.millis());
+    }
+
+    /**
+     * Fallback for resources uploaded before frame indexing: reads the whole file and indexes it
+     * in memory. Not cached, since the cache key can only be computed from the index.
+     */
+    private AudioSegment cutWithoutIndex(Long id, long startMillis, long durationMillis) {
+        byte[] data = resourceRepository.findPayloadFrom(id, 0);
+        if (data == null) {
+            return null;
+        }
+        Mp3FrameIndex index = Mp3FrameIndex.build(data);
+        if (index.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Resource with ID=%d contains no MPEG audio frames", id));
+        }
+        checkStart(index, startMillis);
+
+        Mp3FrameIndex.SeekPoint start = index.seek(startMillis);
+        Mp3FrameIndex.SeekPoint end = index.seekAtOrAfter(start.millis() + durationMillis);
+        int headerLength = Math.toIntExact(index.firstFrameOffset());
+        int from = Math.toIntExact(start.offset());
+        int to = end != null ? Math.toIntExact(end.offset()) : data.length;
+
+        byte[] clip = Arrays.copyOf(data, headerLength + to - from);
+        System.arraycopy(data, from, clip, headerLength, to - from);
+        return new AudioSegment(clip, start.millis());
+    }
+
+    private static void checkStart(Mp3FrameIndex index, long startMillis) {
+        if (startMillis >= index.getDurationMillis()) {
+            throw new IllegalArgumentException(String.format(
+                    "Position %.3f s is beyond the end of the track (%.3f s)",
+                    startMillis / 1000.0, index.getDurationMillis() / 1000.0));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.dto.ResourceInventoryEntry;
+import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import com.epam.microservices.resourceservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Streams the list of stored resources as NDJSON, one {@link ResourceInventoryEntry} per line.
+ * <p>
+ * Each shard is read in ID order with keyset pagination over {@code (id, size, checksum,
+ * created_at)}. Every page is its own short read-only transaction and never touches the payload
+ * column. Shards are merged by ID, so the output is globally ordered and an interrupted
+ * inventory is resumed by passing the last ID received as {@code after}.
+ */
+@Service
+@Slf4j
+public class ResourceInventoryService {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ResourceRepository resourceRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectWriter jsonWriter;
+
+    public ResourceInventoryService(ResourceRepository resourceRepository,
+                                    ShardRouter shardRouter,
+                                    ObjectMapper objectMapper) {
+        this.resourceRepository = resourceRepository;
+        this.shardRouter = shardRouter;
+        this.jsonWriter = objectMapper.writer();
+    }
+
+    /**
+     * Validates the inventory parameters before any output is written.
+     *
+     * @throws IllegalArgumentException if {@code after} is negative
+     */
+    public void validate(Long after) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%d' for after. Must not be negative", after)
+            );
+        }
+    }
+
+    public void writeInventory(Long after, OutputStream outputStream) throws IOException {
+        long start = after == null ? 0 : after;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(ShardCursor::headId));
+        for (String shard : shardRouter.allShards()) {
+            ShardCursor cursor = new ShardCursor(shard, start);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        long lastWritten = start;
+        long written = 0;
+        while (!cursors.isEmpty()) {
+            ShardCursor cursor = cursors.poll();
+            ResourceInventoryEntry entry = cursor.head();
+            // A resource in a migrating bucket can exist on two shards; list it once
+            if (entry.getId() > lastWritten) {
+                writer.write(jsonWriter.writeValueAsString(entry));
+                writer.write('\n');
+                lastWritten = entry.getId();
+                if (++written % PAGE_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        writer.flush();
+        log.info("Inventory listed {} resources after ID {}", written, start);
+    }
+
+    /**
+     * Position in one shard's ID-ordered listing, fetching the next page when the current one runs out.
+     */
+    private final class ShardCursor {
+
+        private final String shard;
+        private List<ResourceInventoryEntry> page = List.of();
+        private int index = -1;
+        private long lastId;
+        private boolean exhausted;
+
+        private ShardCursor(String shard, long afterId) {
+            this.shard = shard;
+            this.lastId = afterId;
+        }
+
+        private boolean advance() {
+            index++;
+            if (index < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            long afterId = lastId;
+            page = shardRouter.inShard(shard, true, () -> resourceRepository.findInventoryPage(afterId, PAGE_SIZE));
+            index = 0;
+            exhausted = page.size() < PAGE_SIZE;
+            if (page.isEmpty()) {
+                return false;
+            }
+            lastId = page.get(page.size() - 1).getId();
+            return true;
+        }
+
+        private ResourceInventoryEntry head() {
+            return page.get(index);
+        }
+
+        private long headId() {
+            return head().getId();
+        }
+    }
+}
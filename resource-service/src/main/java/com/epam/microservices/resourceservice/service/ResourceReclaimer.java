@@ -0,0 +1,170 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import com.epam.microservices.resourceservice.repository.ResourceRepositoryCustom.ReclaimedBatch;
+import com.epam.microservices.resourceservice.repository.ResourceRepositoryCustom.TombstoneBacklog;
+import com.epam.microservices.resourceservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background removal of tombstoned resources.
+ * <p>
+ * {@code DELETE /resources} only marks rows as deleted, so the request never waits for large
+ * payloads to be removed. This reclaimer deletes them afterwards in small batches, one batch per
+ * shard per round. It pauses after each round in proportion to the bytes it freed, so the
+ * deletes and the vacuum work they cause stay within {@code reclaim.max-bytes-per-second}.
+ * <p>
+ * Publishes {@code resources.reclaim.backlog} (tombstoned rows waiting) and
+ * {@code resources.reclaim.lag} (age of the oldest one, in seconds) per shard, plus
+ * {@code resources.reclaimed.rows} and {@code resources.reclaimed.bytes} counters.
+ */
+@Service
+@Slf4j
+public class ResourceReclaimer {
+
+    private final ResourceRepository resourceRepository;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxBytesPerSecond;
+    private final Duration idleInterval;
+
+    private final Map<String, AtomicLong> backlogRows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+    private final Counter reclaimedRows;
+    private final Counter reclaimedBytes;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ResourceReclaimer(ResourceRepository resourceRepository,
+                             ShardRouter shardRouter,
+                             MeterRegistry meterRegistry,
+                             @Value("${reclaim.enabled:true}") boolean enabled,
+                             @Value("${reclaim.batch-size:20}") int batchSize,
+                             @Value("${reclaim.max-bytes-per-second:32MB}") DataSize maxBytesPerSecond,
+                             @Value("${reclaim.idle-interval:5s}") Duration idleInterval) {
+        if (maxBytesPerSecond.toBytes() <= 0) {
+            throw new IllegalStateException("reclaim.max-bytes-per-second must be positive, was " + maxBytesPerSecond);
+        }
+        this.resourceRepository = resourceRepository;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBytesPerSecond = maxBytesPerSecond.toBytes();
+        this.idleInterval = idleInterval;
+
+        for (String shard : shardRouter.allShards()) {
+            AtomicLong rows = backlogRows.computeIfAbsent(shard, s -> new AtomicLong());
+            AtomicLong lag = lagSeconds.computeIfAbsent(shard, s -> new AtomicLong());
+            Gauge.builder("resources.reclaim.backlog", rows, AtomicLong::get)
+                    .description("Tombstoned resources waiting to be reclaimed")
+                    .tag("shard", shard)
+                    .register(meterRegistry);
+            Gauge.builder("resources.reclaim.lag", lag, AtomicLong::get)
+                    .description("Age of the oldest tombstoned resource")
+                    .baseUnit("seconds")
+                    .tag("shard", shard)
+                    .register(meterRegistry);
+        }
+        this.reclaimedRows = Counter.builder("resources.reclaimed.rows").register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("resources.reclaimed.bytes").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Resource reclaimer disabled; tombstoned payloads will not be removed");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "resource-reclaimer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void run() {
+        long lastBacklogRefresh = 0;
+        while (running) {
+            try {
+                ReclaimedBatch round = reclaimRound();
+                if (round.rows() == 0 || System.nanoTime() - lastBacklogRefresh >= idleInterval.toNanos()) {
+                    refreshBacklog();
+                    lastBacklogRefresh = System.nanoTime();
+                }
+                Thread.sleep(round.rows() == 0
+                        ? idleInterval.toMillis()
+                        : round.bytes() * 1000 / maxBytesPerSecond);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Reclaiming tombstoned resources failed, retrying in {}", idleInterval, e);
+                sleepQuietly(idleInterval);
+            }
+        }
+    }
+
+    /**
+     * Reclaims one batch on every shard and returns the combined result.
+     */
+    private ReclaimedBatch reclaimRound() {
+        int rows = 0;
+        long bytes = 0;
+        for (String shard : shardRouter.allShards()) {
+            ReclaimedBatch batch = shardRouter.inShard(shard, false,
+                    () -> resourceRepository.reclaimTombstones(batchSize));
+            if (batch.rows() > 0) {
+                log.debug("Reclaimed {} resources ({} bytes) on shard {}", batch.rows(), batch.bytes(), shard);
+            }
+            rows += batch.rows();
+            bytes += batch.bytes();
+        }
+        reclaimedRows.increment(rows);
+        reclaimedBytes.increment(bytes);
+        return new ReclaimedBatch(rows, bytes);
+    }
+
+    private void refreshBacklog() {
+        Instant now = Instant.now();
+        for (String shard : shardRouter.allShards()) {
+            TombstoneBacklog backlog = shardRouter.inShard(shard, true, resourceRepository::tombstoneBacklog);
+            backlogRows.get(shard).set(backlog.rows());
+            lagSeconds.get(shard).set(backlog.oldestDeletedAt() == null
+                    ? 0
+                    : Duration.between(backlog.oldestDeletedAt(), now).toSeconds());
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
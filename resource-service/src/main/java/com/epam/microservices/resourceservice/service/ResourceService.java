@@ -1,40 +1,50 @@
 package com.epam.microservices.resourceservice.service;
 
+import com.epam.microservices.common.metrics.HotKeyTracker;
+import com.epam.microservices.resourceservice.audio.Mp3FrameIndex;
+import com.epam.microservices.resourceservice.dto.AudioSegment;
 import com.epam.microservices.resourceservice.dto.SongMetadataDto;
 import com.epam.microservices.resourceservice.entity.Resource;
 import com.epam.microservices.resourceservice.exception.InvalidMp3Exception;
 import com.epam.microservices.resourceservice.exception.ResourceNotFoundException;
 import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import com.epam.microservices.resourceservice.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing MP3 resources.
  * Handles upload, retrieval, and deletion of audio resources with metadata synchronization.
+ * <p>
+ * All repository access goes through {@link ShardRouter#inShard}, which opens the transaction
+ * on the database holding the resource; without sharding that is the single database.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ResourceService {
 
-    private static final int MAX_CSV_LENGTH = 200;
-    private static final int MIN_MP3_SIZE = 3;
-    private static final byte MP3_SYNC_BYTE = (byte) 0xFF;
-    private static final byte MP3_FRAME_MASK = (byte) 0xE0;
-    private static final byte ID3_TAG_I = 'I';
-    private static final byte ID3_TAG_D = 'D';
-    private static final byte ID3_TAG_3 = '3';
-
     private final ResourceRepository resourceRepository;
+    private final ResourceValidationService validationService;
     private final MetadataExtractorService metadataExtractorService;
     private final SongServiceClient songServiceClient;
+    private final ShardRouter shardRouter;
+    private final PreviewCache previewCache;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
      * Uploads a new MP3 resource, extracts metadata, and syncs with Song Service.
@@ -43,11 +53,10 @@ public class ResourceService {
      * @return the ID of the created resource
      * @throws InvalidMp3Exception if the audio data is not a valid MP3
      */
-    @Transactional
     public Long uploadResource(byte[] audioData) {
-        validateMp3(audioData);
+        validationService.validateMp3(audioData);
 
-        Resource resource = createResource(audioData);
+        Resource resource = createResource(shardRouter.nextId(audioData), audioData);
         log.info("Resource saved with ID: {}", resource.getId());
 
         extractAndSaveMetadata(resource.getId(), audioData);
@@ -56,12 +65,31 @@ public class ResourceService {
     }
 
     /**
-     * Creates and persists a resource entity.
+     * Validates and stores an upload under the given ID, without syncing metadata to Song Service.
+     * This is the storage half of {@link #uploadResource}, which the warm-up runs in a
+     * transaction that is rolled back.
+     *
+     * @throws InvalidMp3Exception if the audio data is not a valid MP3
+     */
+    public Resource storeResource(long id, byte[] audioData) {
+        validationService.validateMp3(audioData);
+        return createResource(id, audioData);
+    }
+
+    /**
+     * Creates and persists a resource entity on the shard its ID maps to.
+     * The resource is committed before metadata is synced, so Song Service never refers to a missing resource.
      */
-    private Resource createResource(byte[] audioData) {
+    private Resource createResource(long id, byte[] audioData) {
         Resource resource = new Resource();
+        resource.setId(id);
         resource.setData(audioData);
-        return resourceRepository.save(resource);
+        resource.setFrameIndex(Mp3FrameIndex.build(audioData).encode());
+        resource.setSize((long) audioData.length);
+        resource.setChecksum(sha256Hex(audioData));
+        resource.setCreatedAt(Instant.now());
+        return shardRouter.inShard(shardRouter.insertShard(resource.getId()), false,
+                () -> resourceRepository.save(resource));
     }
 
     /**
@@ -86,14 +114,59 @@ public class ResourceService {
      * @throws IllegalArgumentException if the ID is invalid
      * @throws ResourceNotFoundException if the resource doesn't exist
      */
-    @Transactional(readOnly = true)
     public byte[] getResource(Long id) {
-        validateId(id);
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("Resource with ID=%d not found", id)
-                ));
-        return resource.getData();
+        validationService.validateId(id);
+        hotKeyTracker.record(id);
+        for (String shard : shardRouter.readShards(id)) {
+            Optional<Resource> resource = shardRouter.inShard(shard, true,
+                    () -> resourceRepository.findByIdAndDeletedAtIsNull(id));
+            if (resource.isPresent()) {
+                return resource.get().getData();
+            }
+        }
+        throw new ResourceNotFoundException(String.format("Resource with ID=%d not found", id));
+    }
+
+    /**
+     * Returns the MP3 data from the indexed frame boundary nearest to the given play time.
+     * Only the frame index and the requested part of the payload are read.
+     * Resources without a frame index are returned from the start.
+     *
+     * @param id      the resource ID
+     * @param seconds play time to start at
+     * @return the audio data and the play time it actually starts at
+     * @throws IllegalArgumentException if the ID or time is invalid, or the time is past the end of the track
+     * @throws ResourceNotFoundException if the resource doesn't exist
+     */
+    public AudioSegment getResourceFrom(Long id, double seconds) {
+        validationService.validateId(id);
+        if (!(seconds >= 0) || Double.isInfinite(seconds)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%s' for t. Must be a non-negative number of seconds", seconds)
+            );
+        }
+        hotKeyTracker.record(id);
+        long millis = (long) (seconds * 1000);
+
+        for (String shard : shardRouter.readShards(id)) {
+            AudioSegment segment = shardRouter.inShard(shard, true, () -> resourceRepository.findFrameIndex(id)
+                    .map(encoded -> {
+                        Mp3FrameIndex index = Mp3FrameIndex.decode(encoded);
+                        if (!index.isEmpty() && millis >= index.getDurationMillis()) {
+                            throw new IllegalArgumentException(String.format(
+                                    "Position %s s is beyond the end of the track (%.3f s)",
+                                    seconds, index.getDurationMillis() / 1000.0));
+                        }
+                        Mp3FrameIndex.SeekPoint point = index.seek(millis);
+                        byte[] data = resourceRepository.findPayloadFrom(id, point.offset());
+                        return data == null ? null : new AudioSegment(data, point.millis());
+                    })
+                    .orElse(null));
+            if (segment != null) {
+                return segment;
+            }
+        }
+        throw new ResourceNotFoundException(String.format("Resource with ID=%d not found", id));
     }
 
     /**
@@ -104,12 +177,10 @@ public class ResourceService {
      * @return list of successfully deleted resource IDs
      * @throws IllegalArgumentException if the CSV string is invalid or too long
      */
-    @Transactional
     public List<Long> deleteResources(String ids) {
-        validateCsvLength(ids);
-
-        List<Long> idsToDelete = parseIds(ids);
+        List<Long> idsToDelete = validationService.parseIds(ids);
         List<Long> deletedIds = deleteExistingResources(idsToDelete);
+        previewCache.invalidate(deletedIds);
 
         if (!deletedIds.isEmpty()) {
             syncMetadataDeletion(deletedIds);
@@ -120,51 +191,24 @@ public class ResourceService {
     }
 
     /**
-     * Parses comma-separated IDs, validating format.
-     */
-    private List<Long> parseIds(String ids) {
-        return Arrays.stream(ids.split(","))
-                .map(String::trim)
-                .filter(id -> !id.isEmpty())
-                .map(this::parseAndValidateId)
-                .toList();
-    }
-
-    /**
-     * Parses a string to Long and validates it's a positive integer.
-     * Throws exception if format is invalid.
-     */
-    private Long parseAndValidateId(String idStr) {
-        try {
-            Long id = Long.parseLong(idStr);
-            if (id <= 0) {
-                throw new IllegalArgumentException(
-                        String.format("Invalid ID format: '%s'. Only positive integers are allowed", idStr)
-                );
-            }
-            return id;
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException(
-                    String.format("Invalid ID format: '%s'. Only positive integers are allowed", idStr)
-            );
-        }
-    }
-
-    /**
-     * Deletes resources that exist in the repository.
+     * Tombstones resources that exist in the repository, with one statement per shard involved.
+     * A resource in a migrating bucket is tombstoned in every copy, source first.
+     * Payloads are removed later by {@link ResourceReclaimer}, so this is cheap regardless of file size.
      */
     private List<Long> deleteExistingResources(List<Long> ids) {
-        List<Long> deletedIds = new ArrayList<>();
-        for (Long id : ids) {
-            if (resourceRepository.existsById(id)) {
-                resourceRepository.deleteById(id);
-                deletedIds.add(id);
-                log.debug("Deleted resource with ID: {}", id);
-            } else {
-                log.debug("Resource with ID: {} does not exist, skipping", id);
+        Map<String, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            for (String shard : shardRouter.writeShards(id)) {
+                idsByShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(id);
             }
         }
-        return deletedIds;
+
+        Set<Long> deleted = new LinkedHashSet<>();
+        idsByShard.forEach((shard, shardIds) -> deleted.addAll(
+                shardRouter.inShard(shard, false, () -> resourceRepository.tombstoneAllById(shardIds))));
+
+        // Keep the requested order in the response
+        return ids.stream().distinct().filter(deleted::contains).toList();
     }
 
     /**
@@ -177,56 +221,11 @@ public class ResourceService {
         songServiceClient.deleteSongMetadata(deletedIdsStr);
     }
 
-    /**
-     * Validates that the audio data is a valid MP3 file.
-     * Checks for MP3 frame sync or ID3 tag presence.
-     *
-     * @throws InvalidMp3Exception if validation fails
-     */
-    private void validateMp3(byte[] audioData) {
-        if (audioData == null || audioData.length < MIN_MP3_SIZE) {
-            throw new InvalidMp3Exception("Invalid MP3 file: data is null or too small");
-        }
-
-        boolean hasValidMp3Sync = audioData[0] == MP3_SYNC_BYTE && 
-                                  (audioData[1] & MP3_FRAME_MASK) == MP3_FRAME_MASK;
-        boolean hasId3Tag = audioData[0] == ID3_TAG_I && 
-                           audioData[1] == ID3_TAG_D && 
-                           audioData[2] == ID3_TAG_3;
-
-        if (!hasValidMp3Sync && !hasId3Tag) {
-            throw new InvalidMp3Exception("Invalid MP3 file: missing MP3 frame sync or ID3 tag");
-        }
-    }
-
-    /**
-     * Validates that the resource ID is positive and not null.
-     *
-     * @throws IllegalArgumentException if validation fails
-     */
-    private void validateId(Long id) {
-        if (id == null || id <= 0) {
-            throw new IllegalArgumentException(
-                    String.format("Invalid value '%s' for ID. Must be a positive integer", id)
-            );
-        }
-    }
-
-    /**
-     * Validates the CSV string of IDs.
-     *
-     * @throws IllegalArgumentException if validation fails
-     */
-    private void validateCsvLength(String ids) {
-        if (ids == null || ids.trim().isEmpty()) {
-            throw new IllegalArgumentException("ID parameter is required");
-        }
-        if (ids.length() >= MAX_CSV_LENGTH) {
-            throw new IllegalArgumentException(
-                    String.format("CSV string is too long: received %d characters, maximum allowed is %d", 
-                            ids.length(), MAX_CSV_LENGTH)
-            );
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
-
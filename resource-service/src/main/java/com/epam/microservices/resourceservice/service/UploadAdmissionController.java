@@ -0,0 +1,106 @@
+package com.epam.microservices.resourceservice.service;
+
+import com.epam.microservices.resourceservice.exception.UploadCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the heap held by uploads in flight.
+ * <p>
+ * An upload is read fully into memory and copied again for the entity and for Tika, so each one
+ * costs a multiple of its size ({@code upload-admission.memory-multiplier}). Before the body is
+ * read, {@link #admit(long)} reserves that cost, by {@code Content-Length}, against a budget of
+ * {@code upload-admission.heap-fraction} of the max heap, or {@code upload-admission.budget} if
+ * set. When the budget is used up the request waits up to {@code upload-admission.max-wait} and
+ * is then rejected with 503. The semaphore is fair, so a large upload is not starved by a stream
+ * of small ones. A request without {@code Content-Length}, or costing more than the whole budget,
+ * reserves the whole budget and runs alone.
+ * <p>
+ * Publishes {@code resources.upload.admission.budget}, {@code .reserved} and {@code .waiting}
+ * gauges and a {@code resources.upload.admission.rejected} counter.
+ */
+@Component
+@Slf4j
+public class UploadAdmissionController {
+
+    private static final long PERMIT_BYTES = 1024;
+
+    private final int totalPermits;
+    private final int memoryMultiplier;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public UploadAdmissionController(MeterRegistry meterRegistry,
+                                     @Value("${upload-admission.budget:}") DataSize budget,
+                                     @Value("${upload-admission.heap-fraction:0.5}") double heapFraction,
+                                     @Value("${upload-admission.memory-multiplier:3}") int memoryMultiplier,
+                                     @Value("${upload-admission.max-wait:2s}") Duration maxWait) {
+        long budgetBytes = budget != null
+                ? budget.toBytes()
+                : (long) (Runtime.getRuntime().maxMemory() * heapFraction);
+        if (budgetBytes < PERMIT_BYTES) {
+            throw new IllegalStateException("Upload admission budget must be at least 1KB, was " + budgetBytes + " bytes");
+        }
+        this.totalPermits = (int) Math.min(Integer.MAX_VALUE, budgetBytes / PERMIT_BYTES);
+        this.memoryMultiplier = memoryMultiplier;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(totalPermits, true);
+
+        Gauge.builder("resources.upload.admission.budget", this, c -> (double) c.totalPermits * PERMIT_BYTES)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("resources.upload.admission.reserved", this,
+                        c -> (double) (c.totalPermits - c.permits.availablePermits()) * PERMIT_BYTES)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("resources.upload.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Uploads waiting for budget")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("resources.upload.admission.rejected").register(meterRegistry);
+        log.info("Upload admission budget {} MB, memory multiplier {}", budgetBytes / (1024 * 1024), memoryMultiplier);
+    }
+
+    /**
+     * Reserves budget for an upload of {@code contentLength} bytes, negative if unknown.
+     *
+     * @return the permits to pass to {@link #release(int)} when the upload has completed
+     * @throws UploadCapacityExceededException if the budget did not free up within the max wait
+     */
+    public int admit(long contentLength) {
+        int needed = permitsFor(contentLength);
+        try {
+            if (permits.tryAcquire(needed, maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return needed;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new UploadCapacityExceededException(
+                "Too many uploads in progress, please retry later",
+                Math.max(1, maxWait.toSeconds()));
+    }
+
+    public void release(int reserved) {
+        permits.release(reserved);
+    }
+
+    private int permitsFor(long contentLength) {
+        if (contentLength < 0) {
+            return totalPermits;
+        }
+        long bytes = contentLength * memoryMultiplier;
+        long needed = (bytes + PERMIT_BYTES - 1) / PERMIT_BYTES;
+        return (int) Math.max(1, Math.min(needed, totalPermits));
+    }
+}
@@ -0,0 +1,125 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Routes resources to shards by the bucket encoded in their ID, following the directory map.
+ * <p>
+ * New IDs take sequence values from the directory in blocks of
+ * {@value ShardDirectory#SEQUENCE_BLOCK_SIZE}, so uploads only reach the directory once per block.
+ */
+public class HashShardRouter implements ShardRouter {
+
+    private final Map<String, DataSource> shards;
+    private final ShardDirectory directory;
+    private final TransactionTemplate readWriteTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    // Not synchronized: refilling blocks on JDBC, which would pin a virtual thread's carrier
+    private final Lock sequenceLock = new ReentrantLock();
+
+    private long nextSequence;
+    private long sequenceLimit;
+
+    public HashShardRouter(Map<String, DataSource> shards, ShardDirectory directory,
+                           PlatformTransactionManager transactionManager) {
+        this.shards = shards;
+        this.directory = directory;
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long nextId(byte[] audioData) {
+        int bucket = ShardIds.bucketFor(audioData);
+        return ShardIds.compose(nextSequence(), bucket);
+    }
+
+    private long nextSequence() {
+        sequenceLock.lock();
+        try {
+            if (nextSequence == sequenceLimit) {
+                nextSequence = directory.allocateSequenceBlock();
+                sequenceLimit = nextSequence + ShardDirectory.SEQUENCE_BLOCK_SIZE;
+            }
+            return nextSequence++;
+        } finally {
+            sequenceLock.unlock();
+        }
+    }
+
+    @Override
+    public String insertShard(long id) {
+        ShardDirectory.Assignment assignment = directory.assignment(ShardIds.bucketOf(id));
+        return assignment.isMigrating() ? assignment.migratingTo() : assignment.shard();
+    }
+
+    @Override
+    public List<String> readShards(long id) {
+        ShardDirectory.Assignment assignment = directory.assignment(ShardIds.bucketOf(id));
+        return assignment.isMigrating()
+                ? List.of(assignment.migratingTo(), assignment.shard())
+                : List.of(assignment.shard());
+    }
+
+    @Override
+    public List<String> writeShards(long id) {
+        ShardDirectory.Assignment assignment = directory.assignment(ShardIds.bucketOf(id));
+        return assignment.isMigrating()
+                ? List.of(assignment.shard(), assignment.migratingTo())
+                : List.of(assignment.shard());
+    }
+
+    @Override
+    public Collection<String> allShards() {
+        return shards.keySet();
+    }
+
+    @Override
+    public <T> T inShard(String shard, boolean readOnly, Supplier<T> work) {
+        return inShard(shard, readOnly ? readOnlyTransaction : readWriteTransaction, status -> work.get());
+    }
+
+    @Override
+    public <T> T inShardRolledBack(String shard, Supplier<T> work) {
+        return inShard(shard, readWriteTransaction, status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+
+    private <T> T inShard(String shard, TransactionTemplate transaction, TransactionCallback<T> work) {
+        if (!shards.containsKey(shard)) {
+            throw new IllegalArgumentException(String.format("Unknown shard '%s'", shard));
+        }
+        String previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return transaction.execute(work);
+        } finally {
+            if (previous == null) {
+                ShardContext.clear();
+            } else {
+                ShardContext.set(previous);
+            }
+        }
+    }
+
+    DataSource dataSource(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException(String.format("Unknown shard '%s'", shard));
+        }
+        return dataSource;
+    }
+}
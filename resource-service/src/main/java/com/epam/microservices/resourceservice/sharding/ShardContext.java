@@ -0,0 +1,24 @@
+package com.epam.microservices.resourceservice.sharding;
+
+/**
+ * Binds the shard that {@link ShardRoutingDataSource} should use to the current thread.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static String current() {
+        return CURRENT.get();
+    }
+
+    static void set(String shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,154 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bucket-to-shard map kept in the {@code resource_shard_buckets} table of the directory shard,
+ * plus the global ID sequence. Each instance holds an in-memory copy that is refreshed
+ * periodically, so routing never queries the directory on the request path.
+ */
+@Slf4j
+public class ShardDirectory {
+
+    /**
+     * Must match the {@code INCREMENT BY} of {@code resource_global_id_seq}.
+     */
+    static final int SEQUENCE_BLOCK_SIZE = 100;
+
+    private final JdbcTemplate directory;
+    private final Set<String> knownShards;
+    private volatile Assignment[] assignments;
+
+    public ShardDirectory(JdbcTemplate directory, Set<String> knownShards) {
+        this.directory = directory;
+        this.knownShards = knownShards;
+    }
+
+    /**
+     * Where a bucket lives; {@code migratingTo} is set while it is being moved to another shard.
+     */
+    public record Assignment(String shard, String migratingTo) {
+
+        public boolean isMigrating() {
+            return migratingTo != null;
+        }
+    }
+
+    /**
+     * Writes the configured bucket ranges if the directory is still empty, then loads it.
+     * Existing assignments always win over configuration, since buckets may have been moved.
+     */
+    public void initialize(List<ShardingProperties.Shard> shards) {
+        Integer existing = directory.queryForObject("SELECT count(*) FROM resource_shard_buckets", Integer.class);
+        if (existing == null || existing == 0) {
+            List<Object[]> rows = new ArrayList<>();
+            for (ShardingProperties.Shard shard : shards) {
+                int[] range = parseRange(shard.getBuckets(), shard.getName());
+                for (int bucket = range[0]; bucket <= range[1]; bucket++) {
+                    rows.add(new Object[]{bucket, shard.getName()});
+                }
+            }
+            directory.batchUpdate(
+                    "INSERT INTO resource_shard_buckets (bucket, shard) VALUES (?, ?) ON CONFLICT (bucket) DO NOTHING",
+                    rows);
+            log.info("Seeded shard directory with {} bucket assignments", rows.size());
+        }
+        refresh();
+        if (assignments == null) {
+            throw new IllegalStateException("Shard directory is incomplete or references unknown shards");
+        }
+    }
+
+    /**
+     * Reloads the map. A directory that does not assign every bucket to a configured shard is
+     * ignored and the previous map is kept.
+     */
+    public void refresh() {
+        Assignment[] loaded = new Assignment[ShardIds.BUCKET_COUNT];
+        directory.query("SELECT bucket, shard, migrating_to FROM resource_shard_buckets", rs -> {
+            int bucket = rs.getInt("bucket");
+            if (bucket >= 0 && bucket < loaded.length) {
+                loaded[bucket] = new Assignment(rs.getString("shard"), rs.getString("migrating_to"));
+            }
+        });
+        for (int bucket = 0; bucket < loaded.length; bucket++) {
+            Assignment assignment = loaded[bucket];
+            if (assignment == null || !knownShards.contains(assignment.shard())
+                    || (assignment.isMigrating() && !knownShards.contains(assignment.migratingTo()))) {
+                log.error("Shard directory entry for bucket {} is missing or unknown, keeping previous map", bucket);
+                return;
+            }
+        }
+        assignments = loaded;
+    }
+
+    public Assignment assignment(int bucket) {
+        return assignments[bucket];
+    }
+
+    /**
+     * Number of buckets owned by each shard, in the order the shards were configured.
+     */
+    public Map<String, Integer> bucketCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        knownShards.forEach(shard -> counts.put(shard, 0));
+        for (Assignment assignment : assignments) {
+            counts.merge(assignment.shard(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Reads the current assignment straight from the directory, bypassing the cached map.
+     */
+    Assignment load(int bucket) {
+        return directory.queryForObject(
+                "SELECT shard, migrating_to FROM resource_shard_buckets WHERE bucket = ?",
+                (rs, rowNum) -> new Assignment(rs.getString("shard"), rs.getString("migrating_to")),
+                bucket);
+    }
+
+    /**
+     * Marks a bucket as migrating. Idempotent for the same target, so an interrupted move can be resumed.
+     */
+    boolean beginMigration(int bucket, String source, String target) {
+        return directory.update(
+                "UPDATE resource_shard_buckets SET migrating_to = ? " +
+                        "WHERE bucket = ? AND shard = ? AND (migrating_to IS NULL OR migrating_to = ?)",
+                target, bucket, source, target) == 1;
+    }
+
+    boolean completeMigration(int bucket, String target) {
+        return directory.update(
+                "UPDATE resource_shard_buckets SET shard = migrating_to, migrating_to = NULL " +
+                        "WHERE bucket = ? AND migrating_to = ?",
+                bucket, target) == 1;
+    }
+
+    /**
+     * Reserves the next {@value #SEQUENCE_BLOCK_SIZE} sequence values and returns the first one.
+     */
+    long allocateSequenceBlock() {
+        return directory.queryForObject("SELECT nextval('resource_global_id_seq')", Long.class);
+    }
+
+    private static int[] parseRange(String range, String shard) {
+        if (range == null || range.isBlank()) {
+            throw new IllegalStateException(String.format("No bucket range configured for shard '%s'", shard));
+        }
+        String[] bounds = range.trim().split("-");
+        int from = Integer.parseInt(bounds[0].trim());
+        int to = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : from;
+        if (from < 0 || to >= ShardIds.BUCKET_COUNT || from > to) {
+            throw new IllegalStateException(String.format("Invalid bucket range '%s' for shard '%s'", range, shard));
+        }
+        return new int[]{from, to};
+    }
+}
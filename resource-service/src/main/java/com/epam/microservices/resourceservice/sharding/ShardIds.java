@@ -0,0 +1,35 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of sharded resource IDs: a globally unique sequence value in the high bits and the
+ * bucket in the low {@value #BUCKET_BITS} bits. The bucket, not the physical shard, is encoded,
+ * so a bucket can move between shards without changing any ID.
+ */
+public final class ShardIds {
+
+    public static final int BUCKET_BITS = 10;
+    public static final int BUCKET_COUNT = 1 << BUCKET_BITS;
+    private static final long BUCKET_MASK = BUCKET_COUNT - 1;
+
+    private ShardIds() {
+    }
+
+    public static long compose(long sequence, int bucket) {
+        return (sequence << BUCKET_BITS) | bucket;
+    }
+
+    public static int bucketOf(long id) {
+        return (int) (id & BUCKET_MASK);
+    }
+
+    /**
+     * Hashes the payload to a bucket, spreading uploads evenly over all buckets.
+     */
+    public static int bucketFor(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) (crc.getValue() & BUCKET_MASK);
+    }
+}
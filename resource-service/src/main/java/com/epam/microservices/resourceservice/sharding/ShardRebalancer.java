@@ -0,0 +1,197 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import com.epam.microservices.resourceservice.dto.BucketMigration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves buckets between shards while the service keeps serving them.
+ * <p>
+ * A move goes through these steps, waiting between directory changes until every instance has
+ * refreshed its map:
+ * <ol>
+ *     <li>mark the bucket as migrating: new uploads go to the target, reads try the target then
+ *     the source, deletes hit the source then the target;</li>
+ *     <li>copy the bucket's live rows in ID order, holding {@code FOR SHARE} locks on the source
+ *     rows until they are committed on the target, so a concurrent delete (source first)
+ *     cannot leave an orphaned copy behind;</li>
+ *     <li>flip ownership to the target;</li>
+ *     <li>purge the bucket from the source once nobody reads it there any more.</li>
+ * </ol>
+ * Moves run one at a time. An interrupted move leaves the bucket migrating and is resumed
+ * by requesting the same move again; copying is idempotent.
+ */
+@Slf4j
+public class ShardRebalancer implements AutoCloseable {
+
+    private final HashShardRouter router;
+    private final ShardDirectory directory;
+    private final int batchSize;
+    private final Duration propagationDelay;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Integer, BucketMigration> migrations = new ConcurrentHashMap<>();
+
+    public ShardRebalancer(HashShardRouter router, ShardDirectory directory, int batchSize, Duration mapRefreshInterval) {
+        this.router = router;
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.propagationDelay = mapRefreshInterval.multipliedBy(2);
+    }
+
+    /**
+     * Schedules moving a bucket to another shard.
+     *
+     * @throws IllegalArgumentException if the bucket or shard is invalid, the bucket already lives
+     *                                  on the target, or it is being moved elsewhere
+     */
+    public BucketMigration moveBucket(int bucket, String target) {
+        if (bucket < 0 || bucket >= ShardIds.BUCKET_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid bucket %d. Must be between 0 and %d", bucket, ShardIds.BUCKET_COUNT - 1));
+        }
+        router.dataSource(target);
+
+        ShardDirectory.Assignment assignment = directory.load(bucket);
+        if (assignment.shard().equals(target)) {
+            throw new IllegalArgumentException(String.format("Bucket %d already lives on shard '%s'", bucket, target));
+        }
+        if (assignment.isMigrating() && !assignment.migratingTo().equals(target)) {
+            throw new IllegalArgumentException(String.format(
+                    "Bucket %d is already being moved to shard '%s'", bucket, assignment.migratingTo()));
+        }
+
+        BucketMigration migration = new BucketMigration(bucket, assignment.shard(), target, "QUEUED", 0);
+        if (migrations.putIfAbsent(bucket, migration) != null) {
+            throw new IllegalArgumentException(String.format("Bucket %d is already being moved", bucket));
+        }
+        executor.submit(() -> run(migration));
+        return migration;
+    }
+
+    /**
+     * Migrations known to this instance, plus buckets the directory shows as migrating
+     * without a running job here (e.g. after a restart); those report state {@code PENDING}.
+     */
+    public List<BucketMigration> migrations() {
+        List<BucketMigration> result = new ArrayList<>(migrations.values());
+        for (int bucket = 0; bucket < ShardIds.BUCKET_COUNT; bucket++) {
+            ShardDirectory.Assignment assignment = directory.assignment(bucket);
+            if (assignment.isMigrating() && !migrations.containsKey(bucket)) {
+                result.add(new BucketMigration(bucket, assignment.shard(), assignment.migratingTo(), "PENDING", 0));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private void run(BucketMigration migration) {
+        int bucket = migration.getBucket();
+        String source = migration.getSource();
+        String target = migration.getTarget();
+        try {
+            if (!directory.beginMigration(bucket, source, target)) {
+                throw new IllegalStateException("Directory entry changed concurrently");
+            }
+            log.info("Moving bucket {} from shard '{}' to '{}'", bucket, source, target);
+            migration.setState("PROPAGATING");
+            Thread.sleep(propagationDelay.toMillis());
+
+            migration.setState("COPYING");
+            copy(migration);
+
+            if (!directory.completeMigration(bucket, target)) {
+                throw new IllegalStateException("Directory entry changed concurrently");
+            }
+            migration.setState("DRAINING");
+            Thread.sleep(propagationDelay.toMillis());
+
+            migration.setState("PURGING");
+            long purged = purge(bucket, source);
+            migration.setState("DONE");
+            log.info("Moved bucket {} to shard '{}': {} rows copied, {} purged from '{}'",
+                    bucket, target, migration.getCopiedRows(), purged, source);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            migration.setState("FAILED");
+        } catch (RuntimeException e) {
+            migration.setState("FAILED");
+            log.error("Moving bucket {} to shard '{}' failed; request the move again to resume", bucket, target, e);
+        } finally {
+            migrations.remove(bucket, migration);
+        }
+    }
+
+    private void copy(BucketMigration migration) {
+        JdbcTemplate source = new JdbcTemplate(router.dataSource(migration.getSource()));
+        JdbcTemplate target = new JdbcTemplate(router.dataSource(migration.getTarget()));
+        TransactionTemplate sourceTransaction = new TransactionTemplate(
+                new DataSourceTransactionManager(router.dataSource(migration.getSource())));
+
+        long lastId = 0;
+        while (true) {
+            long after = lastId;
+            List<Map<String, Object>> rows = sourceTransaction.execute(status -> {
+                List<Map<String, Object>> batch = source.queryForList(
+                        "SELECT * FROM resources WHERE (id & " + (ShardIds.BUCKET_COUNT - 1) + ") = ? AND id > ? " +
+                                "AND deleted_at IS NULL ORDER BY id LIMIT ? FOR SHARE",
+                        migration.getBucket(), after, batchSize);
+                if (!batch.isEmpty()) {
+                    insertIgnoringExisting(target, batch);
+                }
+                return batch;
+            });
+            if (rows == null || rows.isEmpty()) {
+                return;
+            }
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            migration.setCopiedRows(migration.getCopiedRows() + rows.size());
+        }
+    }
+
+    /**
+     * Copies rows column by column, so columns added later are carried over without changes here.
+     */
+    private static void insertIgnoringExisting(JdbcTemplate target, List<Map<String, Object>> rows) {
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO resources (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON CONFLICT (id) DO NOTHING";
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            values.add(columns.stream().map(row::get).toArray());
+        }
+        target.batchUpdate(sql, values);
+    }
+
+    private long purge(int bucket, String shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(router.dataSource(shard));
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM resources WHERE id IN (SELECT id FROM resources " +
+                            "WHERE (id & " + (ShardIds.BUCKET_COUNT - 1) + ") = ? LIMIT ?)",
+                    bucket, batchSize);
+            purged += deleted;
+        } while (deleted > 0);
+        return purged;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
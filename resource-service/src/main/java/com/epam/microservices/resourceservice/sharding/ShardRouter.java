@@ -0,0 +1,48 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Decides which database holds a resource and runs repository work against it.
+ * <p>
+ * Every {@code ResourceRepository} call must happen inside {@link #inShard}, which binds the
+ * shard and opens a transaction on it. Without sharding there is a single shard and this
+ * simply runs the work in a transaction.
+ */
+public interface ShardRouter {
+
+    /**
+     * Allocates the ID for a new resource with the given payload.
+     */
+    long nextId(byte[] audioData);
+
+    /**
+     * Shard a new resource with this ID must be inserted into.
+     */
+    String insertShard(long id);
+
+    /**
+     * Shards to look the resource up in, in order. During a bucket migration this is the
+     * target first, then the source.
+     */
+    List<String> readShards(long id);
+
+    /**
+     * Shards holding a copy that must be modified, in order. During a bucket migration this is
+     * the source first, so that a concurrent copy has finished before the target is touched.
+     */
+    List<String> writeShards(long id);
+
+    Collection<String> allShards();
+
+    <T> T inShard(String shard, boolean readOnly, Supplier<T> work);
+
+    /**
+     * Runs the work like a read-write {@link #inShard}, then rolls the transaction back, so that
+     * write paths can be exercised without leaving anything behind. Repository calls made through
+     * {@link #inShard} meanwhile join the transaction. Must not be called inside a transaction.
+     */
+    <T> T inShardRolledBack(String shard, Supplier<T> work);
+}
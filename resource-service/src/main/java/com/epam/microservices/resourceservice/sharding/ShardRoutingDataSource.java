@@ -0,0 +1,47 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves connections against the shard bound by {@link ShardContext}, or the directory shard
+ * when none is bound (e.g. for Hibernate bootstrap and health checks).
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+    private final DataSource directory;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, DataSource directory) {
+        this.shards = shards;
+        this.directory = directory;
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setDefaultTargetDataSource(directory);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    public DataSource getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards.values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
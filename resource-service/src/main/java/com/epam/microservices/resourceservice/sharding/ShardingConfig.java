@@ -0,0 +1,93 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads resources over the databases listed under {@code sharding.shards} when
+ * {@code sharding.enabled} is set. The first shard doubles as the directory.
+ * <p>
+ * The application's {@link DataSource} becomes a {@link ShardRoutingDataSource}; repository
+ * work is routed by running it through {@link ShardRouter#inShard}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties shardingProperties,
+                                             DataSourceProperties dataSourceProperties,
+                                             MeterRegistry meterRegistry) {
+        if (shardingProperties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled is set but no sharding.shards are configured");
+        }
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.getDriverClassName())
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName(shard.getName());
+            dataSource.setMaximumPoolSize(shardingProperties.getMaximumPoolSize());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.put(shard.getName(), dataSource);
+        }
+        return new ShardRoutingDataSource(shards, shards.values().iterator().next());
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardRoutingDataSource dataSource, ShardingProperties shardingProperties) {
+        ShardDirectory directory = new ShardDirectory(
+                new JdbcTemplate(dataSource.getDirectory()), dataSource.getShards().keySet());
+        directory.initialize(shardingProperties.getShards());
+        return directory;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService shardDirectoryRefreshExecutor(ShardDirectory shardDirectory,
+                                                                  ShardingProperties shardingProperties) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-directory-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = shardingProperties.getMapRefreshInterval().toMillis();
+        executor.scheduleWithFixedDelay(shardDirectory::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    @Bean
+    public HashShardRouter shardRouter(ShardRoutingDataSource dataSource, ShardDirectory shardDirectory,
+                                       PlatformTransactionManager transactionManager) {
+        return new HashShardRouter(dataSource.getShards(), shardDirectory, transactionManager);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(HashShardRouter shardRouter, ShardDirectory shardDirectory,
+                                           ShardingProperties shardingProperties) {
+        return new ShardRebalancer(shardRouter, shardDirectory,
+                shardingProperties.getRebalanceBatchSize(), shardingProperties.getMapRefreshInterval());
+    }
+}
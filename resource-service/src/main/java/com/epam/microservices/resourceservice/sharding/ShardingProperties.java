@@ -0,0 +1,46 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Physical shards for resource storage, bound from {@code sharding.*}.
+ * The first shard also hosts the bucket directory and the global ID sequence.
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * How often every instance re-reads the bucket directory. Rebalancing waits two intervals
+     * between steps so that all instances have seen each change.
+     */
+    private Duration mapRefreshInterval = Duration.ofSeconds(2);
+
+    /**
+     * Rows copied per batch while rebalancing; each row carries a full audio payload.
+     */
+    private int rebalanceBatchSize = 10;
+
+    private int maximumPoolSize = 10;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        /**
+         * Initial bucket range owned by this shard, e.g. {@code 0-511}. Only used to seed an empty directory.
+         */
+        private String buckets;
+    }
+}
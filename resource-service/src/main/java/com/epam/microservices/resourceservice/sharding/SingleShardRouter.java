@@ -0,0 +1,70 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Router for the default, unsharded deployment: one database, IDs from {@code resources_id_seq}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class SingleShardRouter implements ShardRouter {
+
+    static final String DEFAULT_SHARD = "default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readWriteTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SingleShardRouter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long nextId(byte[] audioData) {
+        return jdbcTemplate.queryForObject("SELECT nextval('resources_id_seq')", Long.class);
+    }
+
+    @Override
+    public String insertShard(long id) {
+        return DEFAULT_SHARD;
+    }
+
+    @Override
+    public List<String> readShards(long id) {
+        return List.of(DEFAULT_SHARD);
+    }
+
+    @Override
+    public List<String> writeShards(long id) {
+        return List.of(DEFAULT_SHARD);
+    }
+
+    @Override
+    public Collection<String> allShards() {
+        return List.of(DEFAULT_SHARD);
+    }
+
+    @Override
+    public <T> T inShard(String shard, boolean readOnly, Supplier<T> work) {
+        return (readOnly ? readOnlyTransaction : readWriteTransaction).execute(status -> work.get());
+    }
+
+    @Override
+    public <T> T inShardRolledBack(String shard, Supplier<T> work) {
+        return readWriteTransaction.execute(status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+}
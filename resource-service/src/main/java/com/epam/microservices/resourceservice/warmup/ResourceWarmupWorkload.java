@@ -0,0 +1,155 @@
+package com.epam.microservices.resourceservice.warmup;
+
+import com.epam.microservices.common.warmup.WarmupWorkload;
+import com.epam.microservices.resourceservice.audio.Mp3FrameIndex;
+import com.epam.microservices.resourceservice.dto.SongMetadataDto;
+import com.epam.microservices.resourceservice.entity.Resource;
+import com.epam.microservices.resourceservice.repository.ResourceRepository;
+import com.epam.microservices.resourceservice.service.MetadataExtractorService;
+import com.epam.microservices.resourceservice.service.ResourceService;
+import com.epam.microservices.resourceservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One pass over the request paths that are slow while cold: Tika parsing, Jackson, storing an
+ * upload (frame indexing, hashing, the Hibernate insert), loading it back with its payload,
+ * seeking into it, and the HTTP upload endpoint up to the service's MP3 check.
+ * <p>
+ * Runs against a small corpus of generated MP3 files and leaves nothing behind. The upload is
+ * stored under {@link #WARMUP_ID} in a transaction that is rolled back, so no ID is allocated,
+ * no other transaction sees the row and Song Service is not called. The requests sent to this
+ * instance fail validation. No accesses are recorded by the hot-key tracker.
+ */
+@Component
+public class ResourceWarmupWorkload implements WarmupWorkload {
+
+    // MPEG-1 Layer III, 128 kbit/s, 44.1 kHz, no padding: 417-byte frames, about 38 per second
+    private static final byte[] FRAME_HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x00};
+    private static final int FRAME_LENGTH = 417;
+    // Never allocated; instances warming up at once wait briefly for each other's rollback
+    private static final long WARMUP_ID = Long.MAX_VALUE;
+
+    private final MetadataExtractorService metadataExtractorService;
+    private final ResourceService resourceService;
+    private final ResourceRepository resourceRepository;
+    private final ShardRouter shardRouter;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final List<byte[]> corpus = List.of(
+            mp3("Warm-up", "Resource Service", "Fixtures", 5),
+            mp3("A longer warm-up track", "Resource Service", "Fixtures", 60),
+            mp3(null, null, null, 20)
+    );
+
+    private int next;
+
+    public ResourceWarmupWorkload(MetadataExtractorService metadataExtractorService,
+                                  ResourceService resourceService,
+                                  ResourceRepository resourceRepository,
+                                  ShardRouter shardRouter,
+                                  EntityManager entityManager,
+                                  ObjectMapper objectMapper) {
+        this.metadataExtractorService = metadataExtractorService;
+        this.resourceService = resourceService;
+        this.resourceRepository = resourceRepository;
+        this.shardRouter = shardRouter;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(String baseUrl) {
+        byte[] file = corpus.get(next++ % corpus.size());
+
+        SongMetadataDto metadata = metadataExtractorService.extractMetadata(WARMUP_ID, file);
+        try {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(metadata), SongMetadataDto.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+
+        shardRouter.inShardRolledBack(shardRouter.insertShard(WARMUP_ID), () -> {
+            resourceService.storeResource(WARMUP_ID, file);
+            resourceRepository.flush();
+            // Load the row from the database rather than the persistence context
+            entityManager.clear();
+            Resource stored = resourceRepository.findByIdAndDeletedAtIsNull(WARMUP_ID)
+                    .orElseThrow(() -> new IllegalStateException("Warm-up resource was not stored"));
+            if (stored.getData().length != file.length) {
+                throw new IllegalStateException("Warm-up resource was not read back intact");
+            }
+            Mp3FrameIndex index = Mp3FrameIndex.decode(
+                    resourceRepository.findFrameIndex(WARMUP_ID).orElseThrow());
+            Mp3FrameIndex.SeekPoint middle = index.seek(index.getDurationMillis() / 2);
+            return resourceRepository.findPayloadFrom(WARMUP_ID, middle.offset());
+        });
+
+        // Through the controller, the byte[] body conversion and into the service, which rejects
+        // the file before storing anything
+        byte[] notAnMp3 = Arrays.copyOf(file, file.length);
+        Arrays.fill(notAnMp3, 0, FRAME_HEADER.length, (byte) 0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("audio/mpeg"));
+        expectClientError(() -> restTemplate.postForEntity(
+                baseUrl + "/resources", new HttpEntity<>(notAnMp3, headers), String.class));
+        // Rejected by validation before any service logic runs
+        expectClientError(() -> restTemplate.getForEntity(baseUrl + "/resources/0", String.class));
+    }
+
+    private static void expectClientError(Runnable request) {
+        try {
+            request.run();
+        } catch (HttpStatusCodeException e) {
+            if (!e.getStatusCode().is4xxClientError()) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A silent MP3 of the given length, with an ID3v2.3 tag if a title is given.
+     */
+    static byte[] mp3(String title, String artist, String album, int seconds) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (title != null) {
+            ByteArrayOutputStream frames = new ByteArrayOutputStream();
+            writeTextFrame(frames, "TIT2", title);
+            writeTextFrame(frames, "TPE1", artist);
+            writeTextFrame(frames, "TALB", album);
+            int size = frames.size();
+            out.writeBytes(new byte[]{'I', 'D', '3', 3, 0, 0,
+                    (byte) ((size >> 21) & 0x7F), (byte) ((size >> 14) & 0x7F),
+                    (byte) ((size >> 7) & 0x7F), (byte) (size & 0x7F)});
+            out.writeBytes(frames.toByteArray());
+        }
+        byte[] frame = new byte[FRAME_LENGTH];
+        System.arraycopy(FRAME_HEADER, 0, frame, 0, FRAME_HEADER.length);
+        int frameCount = seconds * 44_100 / 1152;
+        for (int i = 0; i < frameCount; i++) {
+            out.writeBytes(frame);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeTextFrame(ByteArrayOutputStream out, String id, String text) {
+        byte[] value = text.getBytes(StandardCharsets.ISO_8859_1);
+        int size = value.length + 1;
+        out.writeBytes(id.getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(new byte[]{(byte) (size >> 24), (byte) (size >> 16), (byte) (size >> 8), (byte) size, 0, 0, 0});
+        out.writeBytes(value);
+    }
+}
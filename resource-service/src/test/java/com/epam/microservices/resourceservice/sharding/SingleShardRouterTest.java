@@ -0,0 +1,49 @@
+package com.epam.microservices.resourceservice.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SingleShardRouterTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final SingleShardRouter router =
+            new SingleShardRouter(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+
+    @BeforeEach
+    void openConnections() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+    }
+
+    @Test
+    void commitsWork() throws SQLException {
+        assertThat(router.inShard(SingleShardRouter.DEFAULT_SHARD, false, () -> "done")).isEqualTo("done");
+
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+    }
+
+    @Test
+    void rollsBackWorkIncludingNestedInShardCalls() throws SQLException {
+        String result = router.inShardRolledBack(SingleShardRouter.DEFAULT_SHARD,
+                () -> router.inShard(SingleShardRouter.DEFAULT_SHARD, false, () -> "done"));
+
+        assertThat(result).isEqualTo("done");
+        verify(dataSource).getConnection();
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+}
@@ -0,0 +1,114 @@
+package com.epam.microservices.songservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hands out connections for read-only transactions from the read replica while it is healthy,
+ * that is while its last check succeeded and its replay lag was within {@code maxLag}.
+ * Otherwise the connection comes from the primary, so reads degrade to the pre-routing
+ * behaviour rather than failing.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Counter replicaConnections;
+    private final Counter primaryFallbacks;
+
+    // The replica starts excluded and is admitted by the first successful health check
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaDataSource(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.replicaConnections = Counter.builder("datasource.routing.connections")
+                .description("Connections handed out for read-only transactions")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.primaryFallbacks = Counter.builder("datasource.routing.connections")
+                .description("Connections handed out for read-only transactions")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, dataSource -> dataSource.lagSeconds)
+                .description("Replay lag of the replica behind the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.healthy", this, dataSource -> dataSource.healthy ? 1 : 0)
+                .description("Whether the replica currently serves reads")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (healthy) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica is unreachable, marking it unhealthy", e);
+                healthy = false;
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Re-measures the replay lag of the replica and updates whether it may serve reads.
+     */
+    public void checkReplica() {
+        boolean wasHealthy = healthy;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            lagSeconds = rs.getDouble(1);
+            healthy = lagSeconds <= maxLag.toMillis() / 1000.0;
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            healthy = false;
+        }
+        if (wasHealthy != healthy) {
+            log.warn("Replica is now {} (lag {} s)", healthy ? "serving reads" : "excluded from reads", lagSeconds);
+        }
+    }
+
+    /**
+     * Snapshot of the replica's state for the health endpoint.
+     */
+    public Map<String, Object> describeReplica() {
+        return Map.of("healthy", healthy, "lagSeconds", lagSeconds);
+    }
+}
@@ -2,7 +2,9 @@ package com.epam.microservices.songservice.controller;
 
 import com.epam.microservices.songservice.exception.SongAlreadyExistsException;
 import com.epam.microservices.songservice.exception.SongNotFoundException;
+import com.epam.microservices.songservice.exception.SongWriteTimeoutException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -25,6 +27,7 @@ public class GlobalExceptionHandler {
     private static final String HTTP_CODE_400 = "400";
     private static final String DETAILS = "details";
     private static final String HTTP_CODE_500 = "500";
+    private static final String HTTP_CODE_503 = "503";
 
     @ExceptionHandler(SongNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleSongNotFoundException(SongNotFoundException ex) {
@@ -44,6 +47,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(SongWriteTimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleSongWriteTimeoutException(SongWriteTimeoutException ex) {
+        log.warn("Song write timed out: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put(ERROR_MESSAGE, ex.getMessage());
+        error.put(ERROR_CODE, HTTP_CODE_503);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
         log.error("Invalid argument: {}", ex.getMessage());
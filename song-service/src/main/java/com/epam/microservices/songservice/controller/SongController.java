@@ -2,13 +2,29 @@ package com.epam.microservices.songservice.controller;
 
 import com.epam.microservices.songservice.dto.DeleteResponse;
 import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongFilter;
 import com.epam.microservices.songservice.dto.SongIdResponse;
+import com.epam.microservices.songservice.dto.SongImportReport;
+import com.epam.microservices.songservice.dto.SongLookupResult;
+import com.epam.microservices.songservice.dto.SongPage;
+import com.epam.microservices.songservice.dto.SongQueryRequest;
+import com.epam.microservices.songservice.dto.SongSearchHit;
+import com.epam.microservices.songservice.dto.SongStatistics;
+import com.epam.microservices.songservice.service.SongExportService;
+import com.epam.microservices.songservice.service.SongImportService;
 import com.epam.microservices.songservice.service.SongService;
+import com.epam.microservices.songservice.service.SongWriteCoalescer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -17,24 +33,91 @@ import java.util.List;
 public class SongController {
 
     private final SongService songService;
+    private final SongImportService songImportService;
+    private final SongExportService songExportService;
+    private final SongWriteCoalescer songWriteCoalescer;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<SongIdResponse> createSong(@Valid @RequestBody SongDto songDto) {
-        Long id = songService.createSong(songDto);
+        Long id = songWriteCoalescer.createSong(songDto);
         return ResponseEntity.ok(new SongIdResponse(id));
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<SongImportReport> importSongs(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        return ResponseEntity.ok(songImportService.importSongs(body, contentType));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSongs(@Valid SongFilter filter,
+                                                             @RequestParam(required = false) String format,
+                                                             @RequestParam(required = false) Long after) {
+        String exportFormat = songExportService.validate(format, filter, after);
+        boolean csv = SongExportService.FORMAT_CSV.equals(exportFormat);
+        StreamingResponseBody body = outputStream -> songExportService.export(exportFormat, filter, after, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? SongImportService.CSV : SongImportService.NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"songs." + exportFormat + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<SongStatistics>> getStatistics(@RequestParam String groupBy,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(songService.getStatistics(groupBy, after, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<SongSearchHit>> searchSongs(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(songService.searchSongs(q, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SongDto> getSong(@PathVariable Long id) {
         SongDto songDto = songService.getSong(id);
         return ResponseEntity.ok(songDto);
     }
 
+    @GetMapping
+    public ResponseEntity<SongPage> listSongs(@Valid SongFilter filter,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(songService.listSongs(filter, cursor, limit));
+    }
+
+    @GetMapping(params = "id")
+    public ResponseEntity<StreamingResponseBody> getSongs(@RequestParam String id) {
+        return streamLookupResults(songService.getSongs(id));
+    }
+
+    @PostMapping("/query")
+    public ResponseEntity<StreamingResponseBody> querySongs(@Valid @RequestBody SongQueryRequest request) {
+        return streamLookupResults(songService.getSongs(request.getIds()));
+    }
+
     @DeleteMapping
     public ResponseEntity<DeleteResponse> deleteSongs(@RequestParam String id) {
         List<Long> deletedIds = songService.deleteSongs(id);
         return ResponseEntity.ok(new DeleteResponse(deletedIds));
     }
-}
-
 
+    private ResponseEntity<StreamingResponseBody> streamLookupResults(List<SongLookupResult> results) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (SongLookupResult result : results) {
+                    generator.writeObject(result);
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
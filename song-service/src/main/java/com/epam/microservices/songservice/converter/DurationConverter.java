@@ -0,0 +1,38 @@
+package com.epam.microservices.songservice.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the API's "mm:ss" duration as an integer number of seconds.
+ */
+@Converter
+public class DurationConverter implements AttributeConverter<String, Integer> {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    @Override
+    public Integer convertToDatabaseColumn(String duration) {
+        return duration == null ? null : toSeconds(duration);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer seconds) {
+        return seconds == null ? null : format(seconds);
+    }
+
+    /**
+     * Converts a duration already validated by {@code @DurationFormat} to seconds.
+     */
+    public static int toSeconds(String duration) {
+        int minutes = (duration.charAt(0) - '0') * 10 + (duration.charAt(1) - '0');
+        int seconds = (duration.charAt(3) - '0') * 10 + (duration.charAt(4) - '0');
+        return minutes * SECONDS_PER_MINUTE + seconds;
+    }
+
+    public static String format(int totalSeconds) {
+        int minutes = totalSeconds / SECONDS_PER_MINUTE;
+        int seconds = totalSeconds % SECONDS_PER_MINUTE;
+        return String.format("%02d:%02d", minutes, seconds);
+    }
+}
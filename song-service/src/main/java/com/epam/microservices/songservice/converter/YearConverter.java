@@ -0,0 +1,32 @@
+package com.epam.microservices.songservice.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the API's four-digit year string as a {@code SMALLINT}.
+ */
+@Converter
+public class YearConverter implements AttributeConverter<String, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(String year) {
+        return year == null ? null : toShort(year);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short year) {
+        return year == null ? null : format(year);
+    }
+
+    /**
+     * Converts a year already validated by {@code @YearRange}.
+     */
+    public static short toShort(String year) {
+        return Short.parseShort(year);
+    }
+
+    public static String format(short year) {
+        return String.valueOf(year);
+    }
+}
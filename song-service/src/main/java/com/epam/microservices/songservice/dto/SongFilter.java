@@ -0,0 +1,25 @@
+package com.epam.microservices.songservice.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongFilter {
+
+    private String artist;
+
+    private String album;
+
+    @Min(value = 1900, message = "yearFrom must be between 1900 and 2099")
+    @Max(value = 2099, message = "yearFrom must be between 1900 and 2099")
+    private Integer yearFrom;
+
+    @Min(value = 1900, message = "yearTo must be between 1900 and 2099")
+    @Max(value = 2099, message = "yearTo must be between 1900 and 2099")
+    private Integer yearTo;
+}
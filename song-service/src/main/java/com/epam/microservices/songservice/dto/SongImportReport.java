@@ -0,0 +1,20 @@
+package com.epam.microservices.songservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    /**
+     * Per-row errors, truncated to a bounded number of entries; {@link #failed} is always exact.
+     */
+    private List<SongImportError> errors;
+}
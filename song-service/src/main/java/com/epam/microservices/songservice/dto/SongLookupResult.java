@@ -0,0 +1,14 @@
+package com.epam.microservices.songservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongLookupResult {
+    private Long id;
+    private boolean found;
+    private SongDto song;
+}
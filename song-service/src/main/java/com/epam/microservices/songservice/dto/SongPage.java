@@ -0,0 +1,15 @@
+package com.epam.microservices.songservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongPage {
+    private List<SongDto> songs;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.epam.microservices.songservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongQueryRequest {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most 1000 IDs can be requested at once")
+    private List<@NotNull(message = "ID must not be null") @Positive(message = "ID must be a positive integer") Long> ids;
+}
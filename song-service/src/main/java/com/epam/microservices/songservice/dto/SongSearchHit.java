@@ -0,0 +1,16 @@
+package com.epam.microservices.songservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongSearchHit {
+    private Long id;
+    private String name;
+    private String artist;
+    private String album;
+    private int score;
+}
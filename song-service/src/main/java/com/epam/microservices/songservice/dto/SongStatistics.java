@@ -0,0 +1,15 @@
+package com.epam.microservices.songservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongStatistics {
+    private String key;
+    private long songCount;
+    private long totalDurationSeconds;
+    private double averageDurationSeconds;
+}
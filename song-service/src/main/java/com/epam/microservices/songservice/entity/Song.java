@@ -1,5 +1,7 @@
 package com.epam.microservices.songservice.entity;
 
+import com.epam.microservices.songservice.converter.DurationConverter;
+import com.epam.microservices.songservice.converter.YearConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,10 +26,14 @@ public class Song {
     @Column(nullable = false, length = 100)
     private String album;
 
-    @Column(nullable = false, length = 5)
+    // Stored as INTEGER seconds; exposed in the API's mm:ss format
+    @Column(nullable = false)
+    @Convert(converter = DurationConverter.class)
     private String duration;
 
-    @Column(nullable = false, length = 4)
+    // Stored as SMALLINT
+    @Column(nullable = false)
+    @Convert(converter = YearConverter.class)
     private String year;
 }
 
@@ -0,0 +1,16 @@
+package com.epam.microservices.songservice.event;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that persisted the songs.
+ */
+@Data
+@AllArgsConstructor
+public class SongsCreatedEvent {
+    private List<SongDto> songs;
+}
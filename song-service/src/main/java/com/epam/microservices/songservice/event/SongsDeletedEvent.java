@@ -0,0 +1,15 @@
+package com.epam.microservices.songservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that deleted the songs.
+ */
+@Data
+@AllArgsConstructor
+public class SongsDeletedEvent {
+    private List<Long> ids;
+}
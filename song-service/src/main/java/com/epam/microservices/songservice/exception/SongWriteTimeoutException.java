@@ -0,0 +1,14 @@
+package com.epam.microservices.songservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class SongWriteTimeoutException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SongWriteTimeoutException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,123 @@
+package com.epam.microservices.songservice.mapper;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps songs to and from RFC 4180 CSV lines with the columns
+ * {@code id,name,artist,album,duration,year}. Quoted fields may contain commas and doubled
+ * quotes but not line breaks, which keeps parsing strictly line-by-line.
+ */
+@Component
+public class SongCsvMapper {
+
+    public static final List<String> COLUMNS = List.of("id", "name", "artist", "album", "duration", "year");
+    public static final String HEADER = String.join(",", COLUMNS);
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    /**
+     * Resolves the position of every expected column in a header line, so that files may
+     * list the columns in any order.
+     *
+     * @throws IllegalArgumentException if a column is missing
+     */
+    public int[] parseHeader(String headerLine) {
+        List<String> names = split(headerLine).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] positions = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions[i] = names.indexOf(COLUMNS.get(i));
+            if (positions[i] < 0) {
+                throw new IllegalArgumentException(
+                        String.format("CSV header must contain the columns: %s", HEADER)
+                );
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Parses a data line using positions from {@link #parseHeader(String)}.
+     *
+     * @throws IllegalArgumentException if the line has too few fields or the ID is not a number
+     */
+    public SongDto toDto(String line, int[] positions) {
+        List<String> fields = split(line);
+        for (int position : positions) {
+            if (position >= fields.size()) {
+                throw new IllegalArgumentException(
+                        String.format("Expected %d fields but found %d", COLUMNS.size(), fields.size())
+                );
+            }
+        }
+        String id = fields.get(positions[0]).trim();
+        SongDto dto = new SongDto();
+        try {
+            dto.setId(id.isEmpty() ? null : Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid ID format: '%s'", id));
+        }
+        dto.setName(fields.get(positions[1]));
+        dto.setArtist(fields.get(positions[2]));
+        dto.setAlbum(fields.get(positions[3]));
+        dto.setDuration(fields.get(positions[4]));
+        dto.setYear(fields.get(positions[5]));
+        return dto;
+    }
+
+    public String toCsvLine(SongDto dto) {
+        return String.join(String.valueOf(SEPARATOR),
+                String.valueOf(dto.getId()),
+                quote(dto.getName()),
+                quote(dto.getArtist()),
+                quote(dto.getAlbum()),
+                quote(dto.getDuration()),
+                quote(dto.getYear()));
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return QUOTE + value.replace("\"", "\"\"") + QUOTE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.epam.microservices.songservice.repository;
+
+import com.epam.microservices.songservice.converter.YearConverter;
+import com.epam.microservices.songservice.entity.Song;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Seek position in the catalogue listing, which is ordered by {@code (year, id)}.
+ * Clients only ever see the opaque, URL-safe encoded form.
+ */
+public final class SongCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = ":";
+
+    private final short year;
+    private final long id;
+
+    private SongCursor(short year, long id) {
+        this.year = year;
+        this.id = id;
+    }
+
+    public static SongCursor after(Song song) {
+        return new SongCursor(YearConverter.toShort(song.getYear()), song.getId());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the value was not issued by this service
+     */
+    public static SongCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException();
+            }
+            return new SongCursor(Short.parseShort(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid cursor: '%s'", value));
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + year + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public short getYear() {
+        return year;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.microservices.songservice.repository;
+
+import com.epam.microservices.songservice.dto.SongFilter;
+import com.epam.microservices.songservice.dto.SongStatistics;
+import com.epam.microservices.songservice.entity.Song;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Query fragment for {@link SongRepository} with operations that are issued as plain JDBC
+ * rather than through the entity manager.
+ */
+public interface SongRepositoryCustom {
+
+    /**
+     * Loads all songs with the given IDs in a single {@code WHERE id = ANY(?)} round trip.
+     * Missing IDs are simply absent from the result; no ordering is guaranteed.
+     */
+    List<Song> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Returns up to {@code limit} songs matching the filter, ordered by {@code (year, id)} and
+     * starting strictly after the given cursor. Seeking on the composite indexes keeps the cost
+     * of a page independent of how deep into the catalogue it is.
+     *
+     * @param after position to continue from, or {@code null} for the first page
+     */
+    List<Song> findPage(SongFilter filter, SongCursor after, int limit);
+
+    /**
+     * Streams every song in primary key order through a server-side cursor, holding at most
+     * {@code fetchSize} rows in memory. Must be called inside a transaction, otherwise the
+     * PostgreSQL driver ignores the fetch size and materialises the whole table.
+     */
+    void forEachSong(int fetchSize, Consumer<Song> action);
+
+    /**
+     * Streams at most {@code limit} songs matching the filter with IDs greater than
+     * {@code afterId}, in primary key order, through a server-side cursor. Like
+     * {@link #forEachSong(int, Consumer)} it must run inside a transaction.
+     */
+    void forEachSongAfter(SongFilter filter, long afterId, int limit, int fetchSize, Consumer<Song> action);
+
+    /**
+     * Inserts all songs in one statement by unnesting column arrays, skipping rows whose ID
+     * already exists (including duplicates within the batch).
+     *
+     * @return IDs of the rows that were actually inserted
+     */
+    Set<Long> insertIgnoringExisting(List<Song> songs);
+
+    /**
+     * Computes song count, total and average duration per value of the given dimension in SQL,
+     * returning at most {@code limit} groups ordered by key and starting after {@code afterKey}.
+     *
+     * @param afterKey last key of the previous page, or {@code null} for the first page
+     */
+    List<SongStatistics> aggregateBy(SongStatisticsDimension dimension, String afterKey, int limit);
+}
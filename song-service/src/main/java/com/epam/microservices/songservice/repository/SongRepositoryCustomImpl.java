@@ -0,0 +1,194 @@
+package com.epam.microservices.songservice.repository;
+
+import com.epam.microservices.songservice.converter.DurationConverter;
+import com.epam.microservices.songservice.converter.YearConverter;
+import com.epam.microservices.songservice.dto.SongFilter;
+import com.epam.microservices.songservice.dto.SongStatistics;
+import com.epam.microservices.songservice.entity.Song;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class SongRepositoryCustomImpl implements SongRepositoryCustom {
+
+    private static final String SELECT_COLUMNS = "SELECT id, name, artist, album, duration, year FROM songs";
+
+    private static final String INSERT_UNNEST = """
+            INSERT INTO songs (id, name, artist, album, duration, year)
+            SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::int[], ?::smallint[])
+            ON CONFLICT (id) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final RowMapper<Song> SONG_ROW_MAPPER = (rs, rowNum) -> new Song(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("artist"),
+            rs.getString("album"),
+            DurationConverter.format(rs.getInt("duration")),
+            YearConverter.format(rs.getShort("year"))
+    );
+
+    private static final RowMapper<SongStatistics> STATISTICS_ROW_MAPPER = (rs, rowNum) -> new SongStatistics(
+            rs.getString("group_key"),
+            rs.getLong("song_count"),
+            rs.getLong("total_duration"),
+            rs.getDouble("average_duration")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Song> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                SELECT_COLUMNS + " WHERE id = ANY(?)",
+                ps -> {
+                    Array idArray = ps.getConnection().createArrayOf("bigint", ids.toArray());
+                    ps.setArray(1, idArray);
+                },
+                SONG_ROW_MAPPER
+        );
+    }
+
+    @Override
+    public List<Song> findPage(SongFilter filter, SongCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        List<Object> args = new ArrayList<>();
+        appendFilter(filter, sql, args);
+        if (after != null) {
+            sql.append(" AND (year, id) > (?, ?)");
+            args.add(after.getYear());
+            args.add(after.getId());
+        }
+        sql.append(" ORDER BY year, id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), SONG_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public void forEachSong(int fetchSize, Consumer<Song> action) {
+        stream(SELECT_COLUMNS + " ORDER BY id", List.of(), fetchSize, action);
+    }
+
+    @Override
+    public void forEachSongAfter(SongFilter filter, long afterId, int limit, int fetchSize, Consumer<Song> action) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        List<Object> args = new ArrayList<>();
+        appendFilter(filter, sql, args);
+        sql.append(" AND id > ? ORDER BY id LIMIT ?");
+        args.add(afterId);
+        args.add(limit);
+
+        stream(sql.toString(), args, fetchSize, action);
+    }
+
+    private void stream(String sql, List<Object> args, int fetchSize, Consumer<Song> action) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < args.size(); i++) {
+                        statement.setObject(i + 1, args.get(i));
+                    }
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> action.accept(SONG_ROW_MAPPER.mapRow(rs, rs.getRow()))
+        );
+    }
+
+    private void appendFilter(SongFilter filter, StringBuilder sql, List<Object> args) {
+        sql.append(" WHERE TRUE");
+        if (filter.getArtist() != null) {
+            sql.append(" AND artist = ?");
+            args.add(filter.getArtist());
+        }
+        if (filter.getAlbum() != null) {
+            sql.append(" AND album = ?");
+            args.add(filter.getAlbum());
+        }
+        if (filter.getYearFrom() != null) {
+            sql.append(" AND year >= ?");
+            args.add(filter.getYearFrom().shortValue());
+        }
+        if (filter.getYearTo() != null) {
+            sql.append(" AND year <= ?");
+            args.add(filter.getYearTo().shortValue());
+        }
+    }
+
+    @Override
+    public Set<Long> insertIgnoringExisting(List<Song> songs) {
+        if (songs.isEmpty()) {
+            return Set.of();
+        }
+        int size = songs.size();
+        Long[] ids = new Long[size];
+        String[] names = new String[size];
+        String[] artists = new String[size];
+        String[] albums = new String[size];
+        Integer[] durations = new Integer[size];
+        Short[] years = new Short[size];
+        for (int i = 0; i < size; i++) {
+            Song song = songs.get(i);
+            ids[i] = song.getId();
+            names[i] = song.getName();
+            artists[i] = song.getArtist();
+            albums[i] = song.getAlbum();
+            durations[i] = DurationConverter.toSeconds(song.getDuration());
+            years[i] = YearConverter.toShort(song.getYear());
+        }
+
+        List<Long> inserted = jdbcTemplate.query(
+                INSERT_UNNEST,
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setArray(1, connection.createArrayOf("bigint", ids));
+                    ps.setArray(2, connection.createArrayOf("varchar", names));
+                    ps.setArray(3, connection.createArrayOf("varchar", artists));
+                    ps.setArray(4, connection.createArrayOf("varchar", albums));
+                    ps.setArray(5, connection.createArrayOf("int", durations));
+                    ps.setArray(6, connection.createArrayOf("smallint", years));
+                },
+                (rs, rowNum) -> rs.getLong(1)
+        );
+        return new HashSet<>(inserted);
+    }
+
+    @Override
+    public List<SongStatistics> aggregateBy(SongStatisticsDimension dimension, String afterKey, int limit) {
+        String column = dimension.getColumn();
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT ").append(column).append(" AS group_key,")
+                .append(" count(*) AS song_count,")
+                .append(" sum(duration) AS total_duration,")
+                .append(" round(avg(duration), 1) AS average_duration")
+                .append(" FROM songs");
+        List<Object> args = new ArrayList<>();
+        if (afterKey != null) {
+            sql.append(" WHERE ").append(column).append(" > ?");
+            args.add(dimension == SongStatisticsDimension.YEAR ? YearConverter.toShort(afterKey) : afterKey);
+        }
+        sql.append(" GROUP BY ").append(column)
+                .append(" ORDER BY ").append(column)
+                .append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), STATISTICS_ROW_MAPPER, args.toArray());
+    }
+}
@@ -0,0 +1,37 @@
+package com.epam.microservices.songservice.repository;
+
+import java.util.Locale;
+
+/**
+ * Columns that song statistics can be grouped by.
+ */
+public enum SongStatisticsDimension {
+
+    ARTIST("artist"),
+    ALBUM("album"),
+    YEAR("year");
+
+    private final String column;
+
+    SongStatisticsDimension(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value does not name a dimension
+     */
+    public static SongStatisticsDimension fromParameter(String value) {
+        for (SongStatisticsDimension dimension : values()) {
+            if (dimension.column.equals(value == null ? null : value.toLowerCase(Locale.ROOT))) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException(
+                String.format("Invalid groupBy value '%s'. Must be one of: artist, album, year", value)
+        );
+    }
+}
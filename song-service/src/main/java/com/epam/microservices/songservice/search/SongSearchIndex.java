@@ -0,0 +1,317 @@
+package com.epam.microservices.songservice.search;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongSearchHit;
+import com.epam.microservices.songservice.event.SongsCreatedEvent;
+import com.epam.microservices.songservice.event.SongsDeletedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process prefix index over the normalised tokens of song name, artist and album.
+ * <p>
+ * Terms live in a sorted dictionary so that every term sharing a prefix is one contiguous
+ * range, and each term maps to a primitive posting list of song IDs. Unlike an immutable FST
+ * the dictionary can be updated in place, which lets the index follow {@code createSong} and
+ * {@code deleteSongs} commits without segment merging. Queries never touch the database.
+ */
+@Component
+public class SongSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // Upper bound on documents scored per query, keeping one-letter prefixes within budget
+    private static final int MAX_CANDIDATES = 1_000;
+
+    private static final int NAME_EXACT = 6;
+    private static final int NAME_PREFIX = 3;
+    private static final int ARTIST_EXACT = 4;
+    private static final int ARTIST_PREFIX = 2;
+    private static final int ALBUM_EXACT = 2;
+    private static final int ALBUM_PREFIX = 1;
+
+    private final NavigableMap<String, LongPostings> dictionary = new TreeMap<>();
+    private final Map<Long, IndexedSong> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // IDs created or deleted while a rebuild is streaming the table. Those events are newer than
+    // the rebuild's snapshot, so the rebuild must neither resurrect nor overwrite these songs.
+    private Set<Long> changedDuringRebuild;
+
+    @TransactionalEventListener
+    public void onSongsCreated(SongsCreatedEvent event) {
+        add(event.getSongs());
+    }
+
+    @TransactionalEventListener
+    public void onSongsDeleted(SongsDeletedEvent event) {
+        remove(event.getIds());
+    }
+
+    public void add(Collection<SongDto> songs) {
+        lock.writeLock().lock();
+        try {
+            for (SongDto song : songs) {
+                index(song);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(song.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                unindex(id);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes rows streamed by a rebuild, skipping songs that were created or deleted since
+     * the rebuild began.
+     */
+    void addFromRebuild(Collection<SongDto> songs) {
+        lock.writeLock().lock();
+        try {
+            for (SongDto song : songs) {
+                if (changedDuringRebuild == null || !changedDuringRebuild.contains(song.getId())) {
+                    index(song);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts tracking creates and deletes, so that rows streamed by a concurrent rebuild from
+     * an older snapshot never undo them.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code limit} best songs whose name, artist or album contain a token starting
+     * with each of the query's tokens. Exact token matches outrank prefix matches, and name
+     * matches outrank artist and album matches.
+     */
+    public List<SongSearchHit> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        Comparator<SongSearchHit> ranking = Comparator.comparingInt(SongSearchHit::getScore)
+                .thenComparing(SongSearchHit::getId, Comparator.reverseOrder());
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<SongSearchHit> best = new PriorityQueue<>(ranking);
+            Set<Long> seen = new HashSet<>();
+
+            for (LongPostings postings : prefixRange(mostSelective(queryTokens)).values()) {
+                if (seen.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+                for (int i = 0; i < postings.size() && seen.size() < MAX_CANDIDATES; i++) {
+                    long id = postings.get(i);
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    IndexedSong song = documents.get(id);
+                    int score = song.score(queryTokens);
+                    if (score > 0) {
+                        best.offer(new SongSearchHit(id, song.name, song.artist, song.album, score));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+
+            List<SongSearchHit> hits = new ArrayList<>(best);
+            hits.sort(ranking.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(SongDto song) {
+        unindex(song.getId());
+        IndexedSong indexed = new IndexedSong(song);
+        documents.put(song.getId(), indexed);
+        for (String token : indexed.distinctTokens()) {
+            dictionary.computeIfAbsent(token, t -> new LongPostings()).add(song.getId());
+        }
+    }
+
+    private void unindex(Long id) {
+        IndexedSong previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.distinctTokens()) {
+            LongPostings postings = dictionary.get(token);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    dictionary.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks the query token whose prefix range holds the fewest postings to drive candidate
+     * generation; the others are only checked against candidates. Counting stops early once a
+     * range is known to be larger than the best one seen so far, or than the candidate cap, so a
+     * short prefix never walks its whole range.
+     */
+    private String mostSelective(List<String> queryTokens) {
+        String best = queryTokens.get(0);
+        long bestCount = MAX_CANDIDATES;
+        for (String token : queryTokens) {
+            long count = 0;
+            for (LongPostings postings : prefixRange(token).values()) {
+                count += postings.size();
+                if (count >= bestCount) {
+                    break;
+                }
+            }
+            if (count < bestCount) {
+                best = token;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private NavigableMap<String, LongPostings> prefixRange(String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static final class IndexedSong {
+
+        private final String name;
+        private final String artist;
+        private final String album;
+        private final String[] nameTokens;
+        private final String[] artistTokens;
+        private final String[] albumTokens;
+
+        private IndexedSong(SongDto song) {
+            this.name = song.getName();
+            this.artist = song.getArtist();
+            this.album = song.getAlbum();
+            this.nameTokens = tokenize(name).toArray(String[]::new);
+            this.artistTokens = tokenize(artist).toArray(String[]::new);
+            this.albumTokens = tokenize(album).toArray(String[]::new);
+        }
+
+        private Set<String> distinctTokens() {
+            Set<String> tokens = new LinkedHashSet<>();
+            tokens.addAll(Arrays.asList(nameTokens));
+            tokens.addAll(Arrays.asList(artistTokens));
+            tokens.addAll(Arrays.asList(albumTokens));
+            return tokens;
+        }
+
+        /**
+         * Sums the best field match for every query token; zero if any token matches nothing.
+         */
+        private int score(List<String> queryTokens) {
+            int total = 0;
+            for (String queryToken : queryTokens) {
+                int tokenScore = Math.max(
+                        match(nameTokens, queryToken, NAME_EXACT, NAME_PREFIX),
+                        Math.max(match(artistTokens, queryToken, ARTIST_EXACT, ARTIST_PREFIX),
+                                match(albumTokens, queryToken, ALBUM_EXACT, ALBUM_PREFIX)));
+                if (tokenScore == 0) {
+                    return 0;
+                }
+                total += tokenScore;
+            }
+            return total;
+        }
+
+        private static int match(String[] fieldTokens, String queryToken, int exactScore, int prefixScore) {
+            int score = 0;
+            for (String token : fieldTokens) {
+                if (token.equals(queryToken)) {
+                    return exactScore;
+                }
+                if (token.startsWith(queryToken)) {
+                    score = prefixScore;
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.epam.microservices.songservice.search;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.mapper.SongMapper;
+import com.epam.microservices.songservice.repository.SongRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds {@link SongSearchIndex} from song-db once the application is ready.
+ * The table is streamed in primary key order, so memory use is bounded by the batch size
+ * rather than the catalogue size.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SongSearchIndexLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final SongRepository songRepository;
+    private final SongMapper songMapper;
+    private final SongSearchIndex songSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        songSearchIndex.beginRebuild();
+        try {
+            List<SongDto> batch = new ArrayList<>(BATCH_SIZE);
+            songRepository.forEachSong(BATCH_SIZE, song -> {
+                batch.add(songMapper.toDto(song));
+                if (batch.size() == BATCH_SIZE) {
+                    songSearchIndex.addFromRebuild(batch);
+                    batch.clear();
+                }
+            });
+            songSearchIndex.addFromRebuild(batch);
+        } finally {
+            songSearchIndex.endRebuild();
+        }
+        log.info("Song search index rebuilt with {} songs in {} ms",
+                songSearchIndex.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
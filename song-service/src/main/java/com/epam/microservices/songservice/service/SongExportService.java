@@ -0,0 +1,139 @@
+package com.epam.microservices.songservice.service;
+
+import com.epam.microservices.songservice.dto.SongFilter;
+import com.epam.microservices.songservice.mapper.SongCsvMapper;
+import com.epam.microservices.songservice.mapper.SongMapper;
+import com.epam.microservices.songservice.repository.SongRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Streams the song catalogue as NDJSON or CSV with constant memory.
+ * <p>
+ * Songs are read in primary key order in segments. Each segment is one short read-only
+ * transaction using a server-side cursor with a bounded fetch size, and the output is flushed
+ * after every segment. A multi-million-row export therefore never materialises the table and
+ * never holds a single long-running transaction open. An interrupted export is resumed by
+ * passing the last ID received as {@code after}.
+ */
+@Service
+@Slf4j
+public class SongExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final int SEGMENT_SIZE = 10_000;
+    private static final int FETCH_SIZE = 1000;
+
+    private final SongRepository songRepository;
+    private final SongMapper songMapper;
+    private final SongCsvMapper songCsvMapper;
+    private final SongService songService;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SongExportService(SongRepository songRepository,
+                             SongMapper songMapper,
+                             SongCsvMapper songCsvMapper,
+                             SongService songService,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.songRepository = songRepository;
+        this.songMapper = songMapper;
+        this.songCsvMapper = songCsvMapper;
+        this.songService = songService;
+        this.jsonWriter = objectMapper.writer();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Validates the export parameters before any output is written.
+     *
+     * @return the normalised format name
+     * @throws IllegalArgumentException if the format or filter is invalid
+     */
+    public String validate(String format, SongFilter filter, Long after) {
+        String normalized = format == null ? FORMAT_NDJSON : format.toLowerCase(Locale.ROOT);
+        if (!FORMAT_NDJSON.equals(normalized) && !FORMAT_CSV.equals(normalized)) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported export format: %s. Use %s or %s", format, FORMAT_NDJSON, FORMAT_CSV)
+            );
+        }
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%d' for after. Must not be negative", after)
+            );
+        }
+        songService.validateYearRange(filter);
+        return normalized;
+    }
+
+    public void export(String format, SongFilter filter, Long after, OutputStream outputStream) {
+        boolean csv = FORMAT_CSV.equals(format);
+        long startedAt = System.nanoTime();
+        long exported = 0;
+        long lastId = after == null ? 0 : after;
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(SongCsvMapper.HEADER);
+                writer.write('\n');
+            }
+            while (true) {
+                Segment segment = exportSegment(filter, lastId, csv, writer);
+                writer.flush();
+                exported += segment.count;
+                if (segment.count < SEGMENT_SIZE) {
+                    break;
+                }
+                lastId = segment.lastId;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write song export", e);
+        }
+
+        log.info("Exported {} songs as {} in {} ms", exported, format, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private Segment exportSegment(SongFilter filter, long afterId, boolean csv, Writer writer) {
+        Segment segment = new Segment();
+        readOnlyTransaction.executeWithoutResult(status ->
+                songRepository.forEachSongAfter(filter, afterId, SEGMENT_SIZE, FETCH_SIZE, song -> {
+                    try {
+                        if (csv) {
+                            writer.write(songCsvMapper.toCsvLine(songMapper.toDto(song)));
+                        } else {
+                            writer.write(jsonWriter.writeValueAsString(songMapper.toDto(song)));
+                        }
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    segment.count++;
+                    segment.lastId = song.getId();
+                })
+        );
+        return segment;
+    }
+
+    private static final class Segment {
+        private int count;
+        private long lastId;
+    }
+}
@@ -0,0 +1,187 @@
+package com.epam.microservices.songservice.service;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongImportError;
+import com.epam.microservices.songservice.dto.SongImportReport;
+import com.epam.microservices.songservice.mapper.SongCsvMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON or CSV song metadata into song-db.
+ * <p>
+ * Rows are parsed one line at a time and validated against the same constraints as
+ * {@code POST /songs}. Valid rows are written in chunks, each chunk as one multi-row insert in
+ * its own transaction, so memory stays bounded and a bad row never rolls back its neighbours.
+ * If a chunk cannot be written, its rows are reported as failed and the import continues with
+ * the next chunk, so the report always says which lines were imported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SongImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final SongService songService;
+    private final SongCsvMapper songCsvMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public SongImportReport importSongs(InputStream body, String contentType) {
+        boolean csv = isCsv(contentType);
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            int[] csvPositions = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && csvPositions == null) {
+                    csvPositions = songCsvMapper.parseHeader(line);
+                    continue;
+                }
+                SongDto song = parseRow(line, lineNumber, csvPositions, progress);
+                if (song != null && isValid(song, lineNumber, progress)) {
+                    progress.pending.add(new PendingRow(lineNumber, song));
+                    if (progress.pending.size() == CHUNK_SIZE) {
+                        flush(progress);
+                    }
+                }
+            }
+            flush(progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+
+        log.info("Imported {} of {} songs ({} failed) in {} ms", progress.imported, progress.received,
+                progress.failed, (System.nanoTime() - startedAt) / 1_000_000);
+        return new SongImportReport(progress.received, progress.imported, progress.failed, progress.errors);
+    }
+
+    private boolean isCsv(String contentType) {
+        if (contentType != null && contentType.startsWith(CSV)) {
+            return true;
+        }
+        if (contentType != null && contentType.startsWith(NDJSON)) {
+            return false;
+        }
+        throw new IllegalArgumentException(
+                String.format("Unsupported import format: %s. Use %s or %s",
+                        contentType != null ? contentType : "unknown", NDJSON, CSV)
+        );
+    }
+
+    private SongDto parseRow(String line, long lineNumber, int[] csvPositions, ImportProgress progress) {
+        progress.received++;
+        try {
+            SongDto song = csvPositions != null
+                    ? songCsvMapper.toDto(line, csvPositions)
+                    : objectMapper.readValue(line, SongDto.class);
+            if (song == null) {
+                // A JSON null line
+                progress.reject(lineNumber, null, "Empty row");
+            }
+            return song;
+        } catch (JsonProcessingException e) {
+            progress.reject(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            progress.reject(lineNumber, null, e.getMessage());
+        }
+        return null;
+    }
+
+    private boolean isValid(SongDto song, long lineNumber, ImportProgress progress) {
+        Set<ConstraintViolation<SongDto>> violations = validator.validate(song);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+        progress.reject(lineNumber, song.getId(), message);
+        return false;
+    }
+
+    private void flush(ImportProgress progress) {
+        if (progress.pending.isEmpty()) {
+            return;
+        }
+        Set<Long> createdIds;
+        try {
+            createdIds = songService.createSongs(
+                    progress.pending.stream().map(PendingRow::song).toList()
+            );
+        } catch (RuntimeException e) {
+            // The chunk's transaction was rolled back; report its rows and carry on with the next chunk
+            log.error("Failed to write import chunk of {} songs starting at line {}",
+                    progress.pending.size(), progress.pending.get(0).lineNumber(), e);
+            String message = "Not imported, the database write failed: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow row : progress.pending) {
+                progress.reject(row.lineNumber(), row.song().getId(), message);
+            }
+            progress.pending.clear();
+            return;
+        }
+        Set<Long> claimed = new HashSet<>();
+        for (PendingRow row : progress.pending) {
+            Long id = row.song().getId();
+            if (createdIds.contains(id) && claimed.add(id)) {
+                progress.imported++;
+            } else {
+                progress.reject(row.lineNumber(), id,
+                        String.format("Metadata for resource ID=%d already exists", id));
+            }
+        }
+        progress.pending.clear();
+    }
+
+    private record PendingRow(long lineNumber, SongDto song) {
+    }
+
+    private static final class ImportProgress {
+
+        private final List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+        private final List<SongImportError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private void reject(long lineNumber, Long id, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new SongImportError(lineNumber, id, message));
+            }
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package com.epam.microservices.songservice.service;
 
+import com.epam.microservices.common.metrics.HotKeyTracker;
 import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongFilter;
+import com.epam.microservices.songservice.dto.SongLookupResult;
+import com.epam.microservices.songservice.dto.SongPage;
+import com.epam.microservices.songservice.dto.SongSearchHit;
+import com.epam.microservices.songservice.dto.SongStatistics;
+import com.epam.microservices.songservice.event.SongsCreatedEvent;
+import com.epam.microservices.songservice.event.SongsDeletedEvent;
 import com.epam.microservices.songservice.entity.Song;
 import com.epam.microservices.songservice.exception.SongAlreadyExistsException;
 import com.epam.microservices.songservice.exception.SongNotFoundException;
 import com.epam.microservices.songservice.mapper.SongMapper;
+import com.epam.microservices.songservice.repository.SongCursor;
 import com.epam.microservices.songservice.repository.SongRepository;
+import com.epam.microservices.songservice.repository.SongStatisticsDimension;
+import com.epam.microservices.songservice.search.SongSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SongService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final SongRepository songRepository;
     private final SongMapper songMapper;
+    private final HotKeyTracker hotKeyTracker;
+    private final SongSearchIndex songSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Long createSong(SongDto songDto) {
@@ -32,13 +55,38 @@ public class SongService {
 
         Song song = songMapper.toEntity(songDto);
         song = songRepository.save(song);
+        eventPublisher.publishEvent(new SongsCreatedEvent(List.of(songMapper.toDto(song))));
         log.info("Song metadata created with ID: {}", song.getId());
         return song.getId();
     }
 
+    /**
+     * Persists an already validated batch of songs in a single statement.
+     * Rows whose ID already exists are skipped rather than failing the batch.
+     *
+     * @return IDs of the songs that were created
+     */
+    @Transactional
+    public Set<Long> createSongs(List<SongDto> songDtos) {
+        List<Song> songs = songDtos.stream().map(songMapper::toEntity).toList();
+        Set<Long> createdIds = songRepository.insertIgnoringExisting(songs);
+
+        // Only the first occurrence of an ID within the batch can have been inserted
+        Set<Long> claimed = new HashSet<>();
+        List<SongDto> created = songDtos.stream()
+                .filter(dto -> createdIds.contains(dto.getId()) && claimed.add(dto.getId()))
+                .toList();
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new SongsCreatedEvent(created));
+        }
+        log.debug("Created {} of {} songs in batch", createdIds.size(), songDtos.size());
+        return createdIds;
+    }
+
     @Transactional(readOnly = true)
     public SongDto getSong(Long id) {
         validateId(id);
+        hotKeyTracker.record(id);
         Song song = songRepository.findById(id)
                 .orElseThrow(() -> new SongNotFoundException(
                         String.format("Song metadata for ID=%d not found", id)
@@ -46,28 +94,98 @@ public class SongService {
         return songMapper.toDto(song);
     }
 
+    @Transactional(readOnly = true)
+    public List<SongLookupResult> getSongs(String ids) {
+        validateCsvLength(ids);
+        return getSongs(parseIds(ids));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SongLookupResult> getSongs(List<Long> ids) {
+        ids.forEach(this::validateId);
+
+        Map<Long, SongDto> songsById = new HashMap<>();
+        for (Song song : songRepository.findAllByIds(new LinkedHashSet<>(ids))) {
+            songsById.put(song.getId(), songMapper.toDto(song));
+        }
+        log.debug("Found {} of {} requested songs", songsById.size(), ids.size());
+
+        List<SongLookupResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            SongDto song = songsById.get(id);
+            results.add(new SongLookupResult(id, song != null, song));
+        }
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public SongPage listSongs(SongFilter filter, String cursor, int limit) {
+        validatePageSize(limit);
+        validateYearRange(filter);
+        SongCursor after = (cursor == null || cursor.isEmpty()) ? null : SongCursor.decode(cursor);
+
+        // Fetch one extra row to find out whether another page follows
+        List<Song> songs = songRepository.findPage(filter, after, limit + 1);
+        boolean hasMore = songs.size() > limit;
+        List<Song> page = hasMore ? songs.subList(0, limit) : songs;
+
+        String nextCursor = hasMore ? SongCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new SongPage(page.stream().map(songMapper::toDto).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SongStatistics> getStatistics(String groupBy, String after, int limit) {
+        SongStatisticsDimension dimension = SongStatisticsDimension.fromParameter(groupBy);
+        validatePageSize(limit);
+        if (after != null && dimension == SongStatisticsDimension.YEAR && !after.matches("\\d{4}")) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid value '%s' for after. Must be a four-digit year", after)
+            );
+        }
+        return songRepository.aggregateBy(dimension, after, limit);
+    }
+
+    public List<SongSearchHit> searchSongs(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid limit %d. Must be between 1 and %d", limit, MAX_SEARCH_RESULTS)
+            );
+        }
+        return songSearchIndex.search(query, limit);
+    }
+
     @Transactional
     public List<Long> deleteSongs(String ids) {
         validateCsvLength(ids);
         List<Long> deletedIds = new ArrayList<>();
 
-        String[] idArray = ids.split(",");
-        for (String idStr : idArray) {
-            String trimmedId = idStr.trim();
-            if (trimmedId.isEmpty()) {
-                continue;
-            }
-            
-            Long id = parseAndValidateId(trimmedId);
+        for (Long id : parseIds(ids)) {
             if (songRepository.existsById(id)) {
                 songRepository.deleteById(id);
                 deletedIds.add(id);
             }
         }
 
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new SongsDeletedEvent(deletedIds));
+        }
         return deletedIds;
     }
 
+    private List<Long> parseIds(String ids) {
+        List<Long> parsedIds = new ArrayList<>();
+        for (String idStr : ids.split(",")) {
+            String trimmedId = idStr.trim();
+            if (!trimmedId.isEmpty()) {
+                parsedIds.add(parseAndValidateId(trimmedId));
+            }
+        }
+        return parsedIds;
+    }
+
     private Long parseAndValidateId(String idStr) {
         try {
             Long id = Long.parseLong(idStr);
@@ -92,6 +210,24 @@ public class SongService {
         }
     }
 
+    private void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid limit %d. Must be between 1 and %d", limit, MAX_PAGE_SIZE)
+            );
+        }
+    }
+
+    void validateYearRange(SongFilter filter) {
+        if (filter.getYearFrom() != null && filter.getYearTo() != null
+                && filter.getYearFrom() > filter.getYearTo()) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid year range: yearFrom=%d is after yearTo=%d",
+                            filter.getYearFrom(), filter.getYearTo())
+            );
+        }
+    }
+
     private void validateCsvLength(String ids) {
         if (ids == null || ids.isEmpty()) {
             throw new IllegalArgumentException("ID parameter is required");
@@ -0,0 +1,223 @@
+package com.epam.microservices.songservice.service;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.exception.SongAlreadyExistsException;
+import com.epam.microservices.songservice.exception.SongWriteTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional group-commit path for single song creation.
+ * <p>
+ * When enabled, concurrent {@code POST /songs} calls are queued for at most a few milliseconds
+ * and written together by {@link SongService#createSongs(List)} in one transaction, so a burst
+ * of creates costs one commit instead of one per request. Every caller still receives its own
+ * outcome, including {@link SongAlreadyExistsException} for an existing ID. When disabled,
+ * calls go straight to {@link SongService#createSong(SongDto)}.
+ * <p>
+ * A caller waits at most {@code write-coalescing.max-wait-ms} for its batch to commit and then
+ * fails with {@link SongWriteTimeoutException}, answered as 503. A create that timed out after
+ * its batch was picked up may still be committed; a retry then gets 409. If the flusher hits an
+ * {@link Error}, it fails everything queued and stops, and later creates bypass coalescing.
+ */
+@Service
+@Slf4j
+public class SongWriteCoalescer {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final SongService songService;
+    private final boolean enabled;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+    private final BlockingQueue<PendingCreate> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public SongWriteCoalescer(SongService songService,
+                              @Value("${write-coalescing.enabled:false}") boolean enabled,
+                              @Value("${write-coalescing.max-delay-ms:5}") long maxDelayMillis,
+                              @Value("${write-coalescing.max-batch-size:256}") int maxBatchSize,
+                              @Value("${write-coalescing.max-wait-ms:10000}") long maxWaitMillis) {
+        this.songService = songService;
+        this.enabled = enabled;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "song-write-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Write coalescing enabled: max delay {} ms, max batch size {}",
+                TimeUnit.NANOSECONDS.toMillis(maxDelayNanos), maxBatchSize);
+    }
+
+    /**
+     * Stops accepting new creates and commits everything already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public Long createSong(SongDto songDto) {
+        if (!running) {
+            return songService.createSong(songDto);
+        }
+        PendingCreate pending = new PendingCreate(songDto);
+        queue.add(pending);
+        // Shutdown may have begun after the check above; reclaim the create if the flusher never saw it
+        if (!running && queue.remove(pending)) {
+            return songService.createSong(songDto);
+        }
+        try {
+            return pending.result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Coalesced create failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw timedOut(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timedOut(pending);
+        }
+    }
+
+    private SongWriteTimeoutException timedOut(PendingCreate pending) {
+        // Still queued means never written, so the caller can safely retry
+        boolean written = !queue.remove(pending);
+        log.warn("Coalesced create of song ID={} not committed within {} ms{}", pending.song.getId(),
+                maxWaitMillis, written ? ", its batch is still being written" : "");
+        return new SongWriteTimeoutException(
+                String.format("Timed out storing metadata for resource ID=%d", pending.song.getId()),
+                TimeUnit.MILLISECONDS.toSeconds(maxWaitMillis) + 1);
+    }
+
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            List<PendingCreate> batch = new ArrayList<>();
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    collectBatch(batch);
+                    commit(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                shutDownAfter(batch, e);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in write coalescer", e);
+                fail(batch, e);
+            } catch (Error e) {
+                log.error("Write coalescer stopped by a fatal error; creates now bypass it", e);
+                shutDownAfter(batch, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Nothing will flush the queue any more: fails what is left and lets new creates bypass it.
+     */
+    private void shutDownAfter(List<PendingCreate> batch, Throwable cause) {
+        running = false;
+        queue.drainTo(batch);
+        fail(batch, cause);
+    }
+
+    private static void fail(List<PendingCreate> batch, Throwable cause) {
+        // No-op for creates that already have an outcome
+        batch.forEach(pending -> pending.result.completeExceptionally(cause));
+    }
+
+    /**
+     * Gathers further creates until the batch is full or the first one has waited long enough.
+     */
+    private void collectBatch(List<PendingCreate> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                break;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        Set<Long> createdIds;
+        try {
+            createdIds = songService.createSongs(batch.stream().map(pending -> pending.song).toList());
+        } catch (RuntimeException e) {
+            log.warn("Batched create of {} songs failed, retrying individually", batch.size(), e);
+            batch.forEach(this::commitIndividually);
+            return;
+        }
+
+        Set<Long> claimed = new HashSet<>();
+        for (PendingCreate pending : batch) {
+            Long id = pending.song.getId();
+            if (createdIds.contains(id) && claimed.add(id)) {
+                pending.result.complete(id);
+            } else {
+                pending.result.completeExceptionally(new SongAlreadyExistsException(
+                        String.format("Metadata for resource ID=%d already exists", id)
+                ));
+            }
+        }
+        log.debug("Committed {} coalesced creates", batch.size());
+    }
+
+    private void commitIndividually(PendingCreate pending) {
+        try {
+            pending.result.complete(songService.createSong(pending.song));
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingCreate {
+
+        private final SongDto song;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private PendingCreate(SongDto song) {
+            this.song = song;
+        }
+    }
+}
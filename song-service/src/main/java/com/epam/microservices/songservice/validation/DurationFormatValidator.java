@@ -3,11 +3,10 @@ package com.epam.microservices.songservice.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.regex.Pattern;
-
 public class DurationFormatValidator implements ConstraintValidator<DurationFormat, String> {
 
-    private static final Pattern DURATION_PATTERN = Pattern.compile("^\\d{2}:\\d{2}$");
+    private static final int DURATION_LENGTH = 5;
+    private static final int SEPARATOR_INDEX = 2;
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
@@ -15,29 +14,22 @@ public class DurationFormatValidator implements ConstraintValidator<DurationForm
         if (value == null) {
             return true;
         }
-        
-        // Empty string is invalid
-        if (value.isEmpty()) {
-            return false;
-        }
-        
-        if (!DURATION_PATTERN.matcher(value).matches()) {
+
+        // Must be exactly mm:ss with leading zeros
+        if (value.length() != DURATION_LENGTH || value.charAt(SEPARATOR_INDEX) != ':') {
             return false;
         }
-        
-        // Validate that seconds are between 00 and 59
-        String[] parts = value.split(":");
-        try {
-            int seconds = Integer.parseInt(parts[1]);
-            if (seconds < 0 || seconds > 59) {
+        for (int i = 0; i < DURATION_LENGTH; i++) {
+            if (i != SEPARATOR_INDEX && !isAsciiDigit(value.charAt(i))) {
                 return false;
             }
-        } catch (Exception e) {
-            return false;
         }
-        
-        return true;
-    }
-}
 
+        // Validate that seconds are between 00 and 59
+        return value.charAt(SEPARATOR_INDEX + 1) <= '5';
+    }
 
+    private boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -3,11 +3,11 @@ package com.epam.microservices.songservice.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.regex.Pattern;
-
 public class YearRangeValidator implements ConstraintValidator<YearRange, String> {
 
-    private static final Pattern YEAR_PATTERN = Pattern.compile("^\\d{4}$");
+    private static final int YEAR_LENGTH = 4;
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2099;
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
@@ -15,23 +15,19 @@ public class YearRangeValidator implements ConstraintValidator<YearRange, String
         if (value == null) {
             return true;
         }
-        
-        // Empty string is invalid
-        if (value.isEmpty()) {
-            return false;
-        }
-        
-        if (!YEAR_PATTERN.matcher(value).matches()) {
+
+        if (value.length() != YEAR_LENGTH) {
             return false;
         }
 
-        try {
-            int year = Integer.parseInt(value);
-            return year >= 1900 && year <= 2099;
-        } catch (NumberFormatException e) {
-            return false;
+        int year = 0;
+        for (int i = 0; i < YEAR_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            year = year * 10 + (c - '0');
         }
+        return year >= MIN_YEAR && year <= MAX_YEAR;
     }
 }
-
-
@@ -0,0 +1,94 @@
+package com.epam.microservices.songservice.warmup;
+
+import com.epam.microservices.common.warmup.WarmupWorkload;
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.mapper.SongMapper;
+import com.epam.microservices.songservice.repository.SongRepository;
+import com.epam.microservices.songservice.search.SongSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One pass over the request paths that are slow while cold: bean validation, Jackson, the entity
+ * mapper, Hibernate queries, the search index and the HTTP stack up to the exception handler.
+ * <p>
+ * Runs against a small in-memory corpus of songs and never writes: database reads are for an
+ * ID that cannot exist, and the requests sent to this instance fail validation. No accesses are
+ * recorded by the hot-key tracker.
+ */
+@Component
+public class SongWarmupWorkload implements WarmupWorkload {
+
+    private static final long MISSING_ID = -1L;
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final SongMapper songMapper;
+    private final SongRepository songRepository;
+    private final SongSearchIndex songSearchIndex;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final List<SongDto> corpus = List.of(
+            new SongDto(1L, "Warm-up", "Song Service", "Fixtures", "03:45", "2024"),
+            new SongDto(2L, "A longer warm-up title", "Song Service", "Fixtures", "12:01", "1999"),
+            new SongDto(3L, "", null, "Fixtures", "3:45", "20245")
+    );
+
+    private int next;
+
+    public SongWarmupWorkload(Validator validator,
+                              ObjectMapper objectMapper,
+                              SongMapper songMapper,
+                              SongRepository songRepository,
+                              SongSearchIndex songSearchIndex) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.songMapper = songMapper;
+        this.songRepository = songRepository;
+        this.songSearchIndex = songSearchIndex;
+    }
+
+    @Override
+    public void run(String baseUrl) {
+        SongDto song = corpus.get(next++ % corpus.size());
+
+        validator.validate(song);
+        songMapper.toDto(songMapper.toEntity(song));
+        try {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(song), SongDto.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+
+        songRepository.findById(MISSING_ID);
+        songRepository.findAllByIds(Set.of(MISSING_ID));
+        songSearchIndex.search(song.getName(), 10);
+
+        // Rejected by validation before any service logic runs
+        expectClientError(() -> restTemplate.getForEntity(baseUrl + "/songs/0", String.class));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        SongDto invalid = new SongDto(null, song.getName(), song.getArtist(), song.getAlbum(), song.getDuration(), song.getYear());
+        expectClientError(() -> restTemplate.postForEntity(
+                baseUrl + "/songs", new HttpEntity<>(invalid, headers), String.class));
+    }
+
+    private static void expectClientError(Runnable request) {
+        try {
+            request.run();
+        } catch (HttpStatusCodeException e) {
+            if (!e.getStatusCode().is4xxClientError()) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.epam.microservices.songservice.search;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongSearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SongSearchIndexTest {
+
+    private final SongSearchIndex index = new SongSearchIndex();
+
+    @Test
+    void matchesTokenPrefixesInAnyField() {
+        index.add(List.of(
+                song(1, "Yesterday", "The Beatles", "Help!"),
+                song(2, "Bohemian Rhapsody", "Queen", "A Night at the Opera"),
+                song(3, "Jóga", "Björk", "Homogenic")));
+
+        assertThat(ids(index.search("yest", 10))).containsExactly(1L);
+        assertThat(ids(index.search("beat", 10))).containsExactly(1L);
+        assertThat(ids(index.search("oper", 10))).containsExactly(2L);
+        assertThat(ids(index.search("BJORK", 10))).containsExactly(3L);
+        assertThat(ids(index.search("joga homo", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void requiresEveryQueryToken() {
+        index.add(List.of(
+                song(1, "Yesterday", "The Beatles", "Help!"),
+                song(2, "Help", "The Beatles", "Help!")));
+
+        assertThat(ids(index.search("beatles yes", 10))).containsExactly(1L);
+        assertThat(index.search("beatles queen", 10)).isEmpty();
+        assertThat(index.search("  !! ", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksExactOverPrefixAndNameOverArtistAndAlbum() {
+        index.add(List.of(
+                song(1, "Other", "Other", "Love"),
+                song(2, "Other", "Love", "Other"),
+                song(3, "Love", "Other", "Other"),
+                song(4, "Lovely", "Other", "Other")));
+
+        List<SongSearchHit> hits = index.search("love", 10);
+
+        assertThat(ids(hits)).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void breaksScoreTiesByLowerId() {
+        index.add(List.of(
+                song(7, "Love", "A", "B"),
+                song(5, "Love", "C", "D")));
+
+        assertThat(ids(index.search("love", 10))).containsExactly(5L, 7L);
+    }
+
+    @Test
+    void returnsAtMostLimitHits() {
+        List<SongDto> songs = new ArrayList<>();
+        LongStream.rangeClosed(1, 5_000).forEach(id -> songs.add(song(id, "Track " + id, "Artist", "Album")));
+        index.add(songs);
+
+        assertThat(index.search("t", 20)).hasSize(20);
+        assertThat(ids(index.search("track 4321", 5))).first().isEqualTo(4321L);
+    }
+
+    @Test
+    void removesDeletedSongs() {
+        index.add(List.of(
+                song(1, "Yesterday", "The Beatles", "Help!"),
+                song(2, "Yellow Submarine", "The Beatles", "Revolver")));
+
+        index.remove(List.of(1L));
+
+        assertThat(ids(index.search("beatles", 10))).containsExactly(2L);
+        assertThat(index.search("yesterday", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reindexingASongReplacesItsOldTokens() {
+        index.add(List.of(song(1, "Yesterday", "The Beatles", "Help!")));
+        index.add(List.of(song(1, "Tomorrow", "Annie", "Annie")));
+
+        assertThat(index.search("yesterday", 10)).isEmpty();
+        assertThat(ids(index.search("tomorrow", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildDoesNotResurrectSongsDeletedMeanwhile() {
+        index.beginRebuild();
+        index.remove(List.of(1L));
+        index.addFromRebuild(List.of(song(1, "Yesterday", "The Beatles", "Help!")));
+        index.endRebuild();
+
+        assertThat(index.search("yesterday", 10)).isEmpty();
+    }
+
+    @Test
+    void songsRecreatedDuringRebuildStaySearchable() {
+        index.beginRebuild();
+        index.remove(List.of(1L));
+        index.add(List.of(song(1, "Tomorrow", "Annie", "Annie")));
+        // The rebuild's older snapshot still holds the deleted version
+        index.addFromRebuild(List.of(song(1, "Yesterday", "The Beatles", "Help!")));
+        index.endRebuild();
+
+        assertThat(ids(index.search("tomorrow", 10))).containsExactly(1L);
+        assertThat(index.search("yesterday", 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildIndexesSongsUntouchedMeanwhile() {
+        index.beginRebuild();
+        index.addFromRebuild(List.of(song(1, "Yesterday", "The Beatles", "Help!")));
+        index.endRebuild();
+
+        assertThat(ids(index.search("yesterday", 10))).containsExactly(1L);
+    }
+
+    private static SongDto song(long id, String name, String artist, String album) {
+        return new SongDto(id, name, artist, album, "03:00", "1999");
+    }
+
+    private static List<Long> ids(List<SongSearchHit> hits) {
+        return hits.stream().map(SongSearchHit::getId).toList();
+    }
+}
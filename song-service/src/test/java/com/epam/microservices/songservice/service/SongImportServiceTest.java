@@ -0,0 +1,93 @@
+package com.epam.microservices.songservice.service;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.dto.SongImportError;
+import com.epam.microservices.songservice.dto.SongImportReport;
+import com.epam.microservices.songservice.mapper.SongCsvMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SongImportServiceTest {
+
+    private final SongService songService = mock(SongService.class);
+    private final SongImportService importService = new SongImportService(songService, new SongCsvMapper(),
+            new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void reportsRowsOfAFailedChunkAndImportsTheNextOne() {
+        when(songService.createSongs(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection reset"))
+                .thenAnswer(invocation -> ids(invocation.getArgument(0)));
+
+        SongImportReport report = importService.importSongs(csv(1_500), SongImportService.CSV);
+
+        verify(songService, times(2)).createSongs(anyList());
+        assertThat(report.getReceived()).isEqualTo(1_500);
+        assertThat(report.getImported()).isEqualTo(500);
+        assertThat(report.getFailed()).isEqualTo(1_000);
+        SongImportError first = report.getErrors().get(0);
+        assertThat(first.getLine()).isEqualTo(2);
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(first.getErrorMessage()).contains("Connection reset");
+    }
+
+    @Test
+    void reportsExistingSongsAndInvalidRows() {
+        when(songService.createSongs(anyList())).thenReturn(Set.of(1L));
+
+        String body = String.join("\n",
+                "id,name,artist,album,duration,year",
+                "1,Yesterday,The Beatles,Help!,02:05,1965",
+                "2,Help,The Beatles,Help!,02:18,1965",
+                "3,,The Beatles,Help!,02:18,1965");
+        SongImportReport report = importService.importSongs(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), SongImportService.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(SongImportError::getLine).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void rejectsNullNdjsonRows() {
+        when(songService.createSongs(anyList())).thenAnswer(invocation -> ids(invocation.getArgument(0)));
+
+        String body = String.join("\n",
+                "{\"id\":1,\"name\":\"Yesterday\",\"artist\":\"The Beatles\",\"album\":\"Help!\",\"duration\":\"02:05\",\"year\":\"1965\"}",
+                "null");
+        SongImportReport report = importService.importSongs(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), SongImportService.NDJSON);
+
+        assertThat(report.getReceived()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(SongImportError::getErrorMessage).containsExactly("Empty row");
+    }
+
+    private static ByteArrayInputStream csv(int rows) {
+        String body = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> id + ",Track " + id + ",Artist,Album,03:00,1999")
+                .collect(Collectors.joining("\n", SongCsvMapper.HEADER + "\n", "\n"));
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<Long> ids(List<SongDto> songs) {
+        return songs.stream().map(SongDto::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,86 @@
+package com.epam.microservices.songservice.service;
+
+import com.epam.microservices.songservice.dto.SongDto;
+import com.epam.microservices.songservice.exception.SongAlreadyExistsException;
+import com.epam.microservices.songservice.exception.SongWriteTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SongWriteCoalescerTest {
+
+    private final SongService songService = mock(SongService.class);
+    private final SongWriteCoalescer coalescer = new SongWriteCoalescer(songService, true, 1, 16, 200);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        release.countDown();
+        coalescer.stop();
+    }
+
+    @Test
+    void completesEachCallerWithItsOwnOutcome() {
+        when(songService.createSongs(anyList())).thenReturn(Set.of(1L));
+        coalescer.start();
+
+        assertThat(coalescer.createSong(song(1))).isEqualTo(1L);
+        assertThatThrownBy(() -> coalescer.createSong(song(2))).isInstanceOf(SongAlreadyExistsException.class);
+    }
+
+    @Test
+    void failsWithTimeoutWhenTheBatchIsNotCommittedInTime() {
+        when(songService.createSongs(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return Set.of(1L);
+        });
+        coalescer.start();
+
+        assertThatThrownBy(() -> coalescer.createSong(song(1)))
+                .isInstanceOf(SongWriteTimeoutException.class)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 1L);
+    }
+
+    @Test
+    void keepsFlushingAfterARuntimeException() {
+        when(songService.createSongs(anyList()))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(Set.of(2L));
+        when(songService.createSong(any())).thenThrow(new IllegalStateException("Connection reset"));
+        coalescer.start();
+
+        assertThatThrownBy(() -> coalescer.createSong(song(1))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(coalescer.createSong(song(2))).isEqualTo(2L);
+        verify(songService, times(2)).createSongs(anyList());
+    }
+
+    @Test
+    void bypassesCoalescingAfterTheFlusherHitsAnError() {
+        when(songService.createSongs(anyList())).thenThrow(new StackOverflowError());
+        when(songService.createSong(any())).thenReturn(2L);
+        coalescer.start();
+
+        assertThatThrownBy(() -> coalescer.createSong(song(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+
+        assertThat(coalescer.createSong(song(2))).isEqualTo(2L);
+        verify(songService).createSong(song(2));
+    }
+
+    private static SongDto song(long id) {
+        return new SongDto(id, "Track " + id, "Artist", "Album", "03:00", "1999");
+    }
+}